@@ -1,14 +1,27 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.booking.dto.BookingStatusChange;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.PaginationHeaders;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -16,10 +29,12 @@ public class BookingController {
     private static final String USER_ID_REQUEST_HEADER = "X-Sharer-User-Id";
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingExportService bookingExportService) {
         this.bookingService = bookingService;
+        this.bookingExportService = bookingExportService;
     }
 
     @PostMapping
@@ -35,6 +50,12 @@ public class BookingController {
         return bookingService.changeStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public List<BookingStatusResult> changeBookingStatuses(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
+                                                           @RequestBody List<BookingStatusChange> changes) {
+        return bookingService.changeStatuses(userId, changes);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingOutput getBooking(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
                                     @PathVariable Long bookingId) {
@@ -45,20 +66,78 @@ public class BookingController {
     public List<BookingOutput> getUserBookings(
             @RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) List<String> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime rangeEnd,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "10") int size) {
-        QueryBookingState stateFromQuery = convert(state);
-        return bookingService.getByBooker(userId, stateFromQuery, EntityPagination.of(from, size));
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        BookingFilter filter = toFilter(state, itemId, statuses, rangeStart, rangeEnd);
+        Slice<BookingOutput> bookings = bookingService.getByBooker(userId, filter,
+                EntityPagination.of(from, size, cursor));
+        return PaginationHeaders.withHeaders(response, bookings, b -> PageCursor.of(b.getStart(), b.getId()));
     }
 
     @GetMapping("/owner")
     public List<BookingOutput> getBookingsOfOwnerItems(
             @RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) List<String> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime rangeEnd,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "10") int size) {
-        QueryBookingState stateFromQuery = convert(state);
-        return bookingService.getByOwnerItems(userId, stateFromQuery, EntityPagination.of(from, size));
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        BookingFilter filter = toFilter(state, itemId, statuses, rangeStart, rangeEnd);
+        Slice<BookingOutput> bookings = bookingService.getByOwnerItems(userId, filter,
+                EntityPagination.of(from, size, cursor));
+        return PaginationHeaders.withHeaders(response, bookings, b -> PageCursor.of(b.getStart(), b.getId()));
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsOfOwnerItems(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
+                                           @RequestParam(required = false, defaultValue = "ndjson") String format,
+                                           HttpServletResponse response) throws IOException {
+        BookingExportFormat exportFormat = convertFormat(format);
+        bookingExportService.exportByOwner(userId, exportFormat, () -> {
+            response.setContentType(exportFormat.getContentType());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"");
+            return response.getWriter();
+        });
+    }
+
+    private BookingFilter toFilter(String state, Long itemId, List<String> statuses,
+                                   LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        BookingFilter filter = BookingFilter.of(convert(state));
+        filter.setItemId(itemId);
+        if (statuses != null) {
+            filter.setStatuses(statuses.stream().map(this::convertStatus).collect(Collectors.toSet()));
+        }
+        filter.setRangeStart(rangeStart);
+        filter.setRangeEnd(rangeEnd);
+        return filter;
+    }
+
+    private BookingStatus convertStatus(String status) {
+        try {
+            return BookingStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown status: " + status);
+        }
+    }
+
+    private BookingExportFormat convertFormat(String format) {
+        try {
+            return BookingExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown format: " + format);
+        }
     }
 
     private QueryBookingState convert(String state) {
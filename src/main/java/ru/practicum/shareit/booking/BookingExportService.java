@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface BookingExportService {
+
+    /**
+     * Writes all bookings of the owner's items, newest first. The target is opened only after the owner
+     * is found, so an error can still be returned as a regular response.
+     */
+    void exportByOwner(Long ownerId, BookingExportFormat format, Target target) throws IOException;
+
+    @FunctionalInterface
+    interface Target {
+        Writer open() throws IOException;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.user.UserExistenceCache;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class BookingExportServiceImpl implements BookingExportService {
+    static final String CSV_HEADER = "id,start,end,status,item_id,item_name,booker_id,booker_name\n";
+
+    private final BookingRepository bookingRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BookingExportServiceImpl(BookingRepository bookingRepository,
+                                    UserExistenceCache userExistenceCache,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportByOwner(Long ownerId, BookingExportFormat format, Target target) throws IOException {
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new EntityNotFoundException(User.class, ownerId);
+        }
+        Writer writer = target.open();
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        long count = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamByOwnerId(ownerId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                writer.write(format == BookingExportFormat.CSV ? toCsvRow(booking) : toJsonLine(booking));
+                if (++count % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} bookings of owner {}", count, ownerId);
+    }
+
+    private String toJsonLine(Booking booking) throws IOException {
+        return objectMapper.writeValueAsString(BookingMapper.mapToBookingOutput(booking)) + "\n";
+    }
+
+    private String toCsvRow(Booking booking) {
+        return String.join(",",
+                String.valueOf(booking.getId()),
+                String.valueOf(booking.getStart()),
+                String.valueOf(booking.getEnd()),
+                booking.getStatus().name(),
+                String.valueOf(booking.getItem().getId()),
+                escapeCsv(booking.getItem().getName()),
+                String.valueOf(booking.getBooker().getId()),
+                escapeCsv(booking.getBooker().getName())) + "\n";
+    }
+
+    static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
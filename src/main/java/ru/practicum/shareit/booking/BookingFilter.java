@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class BookingFilter {
+    private QueryBookingState state = QueryBookingState.ALL;
+    private Long itemId;
+    private Set<BookingStatus> statuses;
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+
+    public static BookingFilter of(QueryBookingState state) {
+        BookingFilter filter = new BookingFilter();
+        filter.setState(state);
+        return filter;
+    }
+}
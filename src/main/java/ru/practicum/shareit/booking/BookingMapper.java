@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEvent;
 import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
@@ -19,6 +21,7 @@ public class BookingMapper {
         booking.setStatus(BookingStatus.WAITING);
         booking.setBooker(booker);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwnerId());
 
         return booking;
     }
@@ -43,4 +46,13 @@ public class BookingMapper {
 
         return outputBookings;
     }
+
+    public static BookingEvent mapToBookingEvent(Booking booking) {
+        return new BookingEvent(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getOwnerId(), booking.getStatus(), booking.getStart(), booking.getEnd());
+    }
+
+    public static BookingShort mapToBookingShort(Booking booking) {
+        return new BookingShort(booking.getId(), booking.getBooker().getId());
+    }
 }
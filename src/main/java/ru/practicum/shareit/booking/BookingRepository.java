@@ -1,43 +1,59 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.interval.BookingInterval;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBooker_Id(Long bookerId, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-    Page<Booking> findAllByBooker_IdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    int EXPORT_FETCH_SIZE = 500;
 
-    Page<Booking> findAllByBooker_IdAndEndBefore(Long bookerId, LocalDateTime timestamp, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findAllByBooker_IdAndStartAfter(Long bookerId, LocalDateTime timestamp, Pageable pageable);
+    List<Booking> findAllByIdInAndOwnerId(Collection<Long> ids, Long ownerId);
 
     @Query(" SELECT b FROM Booking b " +
-            "WHERE b.booker.id=?1 AND b.start<=?2 AND b.end >=?2 ")
-    Page<Booking> findAllCurrentBookingsByBookerId(Long bookerId, LocalDateTime timestamp, Pageable pageable);
-
-    Page<Booking> findAllByItem_OwnerId(Long ownerId, Pageable pageable);
+            "WHERE b.item.id=?1 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
+            "b.end >= ?2 AND b.start <= ?3")
+    List<Booking> findApprovedIntersection(Long itemId, LocalDateTime start, LocalDateTime end);
 
-    Page<Booking> findAllByItem_OwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query(" SELECT b FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
+            "b.end >= ?2 AND b.start <= ?3")
+    List<Booking> findApprovedIntersectionOfItems(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
 
-    Page<Booking> findAllByItem_OwnerIdAndEndBefore(Long ownerId, LocalDateTime timestamp, Pageable pageable);
+    @Query(" SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
+            "b.end >= ?2 AND b.start <= ?3")
+    List<Long> findItemIdsWithApprovedIntersection(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
 
-    Page<Booking> findAllByItem_OwnerIdAndStartAfter(Long ownerId, LocalDateTime timestamp, Pageable pageable);
+    @Modifying(clearAutomatically = true)
+    @Query(" UPDATE Booking b SET b.status=?3 " +
+            "WHERE b.id=?1 AND b.ownerId=?2 AND b.status=ru.practicum.shareit.booking.BookingStatus.WAITING")
+    int updateStatusOfWaiting(Long bookingId, Long ownerId, BookingStatus status);
 
-    @Query(" SELECT b FROM Booking b " +
-            "WHERE b.item.ownerId=?1 AND b.start<=?2 AND b.end >=?2 ")
-    Page<Booking> findAllCurrentBookingsByOwnerItems(Long ownerId, LocalDateTime timestamp, Pageable pageable);
+    @Query(" SELECT new ru.practicum.shareit.booking.interval.BookingInterval(b.id, b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id=?1 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND b.end >= ?2")
+    List<BookingInterval> findApprovedIntervals(Long itemId, LocalDateTime from);
 
-    @Query(" SELECT b FROM Booking b " +
+    @Query(" SELECT new ru.practicum.shareit.booking.interval.BookingInterval(b.id, b.start, b.end) FROM Booking b " +
             "WHERE b.item.id=?1 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
             "b.end >= ?2 AND b.start <= ?3")
-    List<Booking> findApprovedIntersection(Long itemId, LocalDateTime start, LocalDateTime end);
+    List<BookingInterval> findApprovedIntervalsBetween(Long itemId, LocalDateTime from, LocalDateTime to);
 
     @Query(" SELECT new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id) FROM Booking b " +
             "WHERE b.item.id=?1 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
@@ -51,6 +67,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "ORDER BY b.start ASC")
     List<BookingShort> findNextBookings(Long itemId, LocalDateTime timestamp);
 
+    @Query(value = " SELECT ranked.* FROM ( " +
+            "   SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC, b.id DESC) AS rn " +
+            "   FROM bookings b " +
+            "   WHERE b.item_id IN (?1) AND b.status = 'APPROVED' AND " +
+            "   (b.end_date <= ?2 OR (b.start_date < ?2 AND b.end_date >= ?2)) " +
+            ") AS ranked " +
+            "WHERE ranked.rn = 1", nativeQuery = true)
+    List<Booking> findLastBookingsOfItems(Collection<Long> itemIds, LocalDateTime timestamp);
+
+    @Query(value = " SELECT ranked.* FROM ( " +
+            "   SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+            "   FROM bookings b " +
+            "   WHERE b.item_id IN (?1) AND b.status = 'APPROVED' AND b.start_date > ?2 " +
+            ") AS ranked " +
+            "WHERE ranked.rn = 1", nativeQuery = true)
+    List<Booking> findNextBookingsOfItems(Collection<Long> itemIds, LocalDateTime timestamp);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(" SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker " +
+            "WHERE b.ownerId=?1 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamByOwnerId(Long ownerId);
+
     @Query(" SELECT b FROM Booking b " +
             "WHERE b.item.id=?1 AND b.booker.id=?2 AND b.status=ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
             "b.end <= ?3 ")
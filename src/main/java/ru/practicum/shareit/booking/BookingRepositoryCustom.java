@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.pagination.EntityPagination;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    Slice<Booking> findSlice(Specification<Booking> specification, EntityPagination pagination);
+
+    boolean[] updateStatusesOfWaiting(List<Long> bookingIds, List<BookingStatus> statuses);
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Booking> findSlice(Specification<Booking> specification, EntityPagination pagination) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        booking.fetch("item");
+        booking.fetch("booker");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+
+        Predicate predicate = specification.toPredicate(booking, query, cb);
+        if (pagination.hasCursor()) {
+            PageCursor cursor = pagination.getCursor();
+            Predicate afterCursor = cb.or(
+                    cb.lessThan(start, cursor.getTimestamp()),
+                    cb.and(cb.equal(start, cursor.getTimestamp()), cb.lessThan(id, cursor.getId())));
+            predicate = predicate == null ? afterCursor : cb.and(predicate, afterCursor);
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(start), cb.desc(id));
+
+        Pageable pageable = PageRequest.of(pagination.getPage(), pagination.getSize());
+        TypedQuery<Booking> typedQuery = entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize() + 1);
+        if (!pagination.hasCursor()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+        }
+        List<Booking> bookings = typedQuery.getResultList();
+        boolean hasNext = bookings.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? bookings.subList(0, pageable.getPageSize()) : bookings, pageable, hasNext);
+    }
+
+    @Override
+    public boolean[] updateStatusesOfWaiting(List<Long> bookingIds, List<BookingStatus> statuses) {
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE bookings SET status = ? WHERE id = ? AND status = 'WAITING'")) {
+                for (int i = 0; i < bookingIds.size(); i++) {
+                    statement.setString(1, statuses.get(i).name());
+                    statement.setLong(2, bookingIds.get(i));
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                boolean[] updated = new boolean[counts.length];
+                for (int i = 0; i < counts.length; i++) {
+                    updated[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+                }
+                return updated;
+            }
+        });
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.booking.dto.BookingStatusChange;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.pagination.EntityPagination;
 
 import java.util.List;
@@ -12,9 +15,11 @@ public interface BookingService {
 
     BookingOutput changeStatus(Long ownerId, Long bookingId, boolean isApproved);
 
+    List<BookingStatusResult> changeStatuses(Long ownerId, List<BookingStatusChange> changes);
+
     BookingOutput get(Long userId, Long bookingId);
 
-    List<BookingOutput> getByBooker(Long bookerId, QueryBookingState state, EntityPagination pagination);
+    Slice<BookingOutput> getByBooker(Long bookerId, BookingFilter filter, EntityPagination pagination);
 
-    List<BookingOutput> getByOwnerItems(Long ownerId, QueryBookingState state, EntityPagination pagination);
+    Slice<BookingOutput> getByOwnerItems(Long ownerId, BookingFilter filter, EntityPagination pagination);
 }
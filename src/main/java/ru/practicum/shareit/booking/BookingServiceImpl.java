@@ -2,25 +2,49 @@ package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEvent;
 import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.booking.dto.BookingStatusChange;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.interval.ApprovedBookingIndex;
+import ru.practicum.shareit.booking.interval.BookingInterval;
+import ru.practicum.shareit.booking.interval.BookingIntervalTree;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.transaction.StripedLocks;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.booking.BookingSpecifications.byBooker;
+import static ru.practicum.shareit.booking.BookingSpecifications.byOwner;
+import static ru.practicum.shareit.booking.BookingSpecifications.matching;
 import static ru.practicum.shareit.booking.BookingStatus.*;
 
 
@@ -28,17 +52,40 @@ import static ru.practicum.shareit.booking.BookingStatus.*;
 @Service
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_STATUS_CHANGES = 500;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final UserExistenceCache userExistenceCache;
+    private final ApprovedBookingIndex approvedBookingIndex;
+    private final StripedLocks itemLocks;
+    private final Outbox outbox;
+    private final boolean overlapPrecheck;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
                               UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              ItemRepository itemRepository,
+                              ItemDetailsCache itemDetailsCache,
+                              ItemAvailabilityCache itemAvailabilityCache,
+                              UserExistenceCache userExistenceCache,
+                              ApprovedBookingIndex approvedBookingIndex,
+                              StripedLocks itemLocks,
+                              Outbox outbox,
+                              @Value("${shareit.booking.overlap-precheck:true}") boolean overlapPrecheck) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.itemDetailsCache = itemDetailsCache;
+        this.itemAvailabilityCache = itemAvailabilityCache;
+        this.userExistenceCache = userExistenceCache;
+        this.approvedBookingIndex = approvedBookingIndex;
+        this.itemLocks = itemLocks;
+        this.outbox = outbox;
+        this.overlapPrecheck = overlapPrecheck;
     }
 
     @Transactional
@@ -46,11 +93,11 @@ public class BookingServiceImpl implements BookingService {
     public BookingOutput create(Long bookerId, BookingDto bookingDto) {
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new EntityNotFoundException(User.class, bookerId));
-        Item item = itemRepository.findById(bookingDto.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException(Item.class, bookingDto.getItemId()));
+        Item item = lockItem(bookingDto.getItemId());
         Booking booking = BookingMapper.mapToNewBooking(bookingDto, booker, item);
         throwIfBookingIsNotValid(booking);
         Booking bookingDb = bookingRepository.save(booking);
+        recordEvent(BookingEvent.CREATED, BookingMapper.mapToBookingEvent(bookingDb));
         log.info("Created " + bookingDb);
 
         return BookingMapper.mapToBookingOutput(bookingDb);
@@ -59,92 +106,214 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     @Override
     public BookingOutput changeStatus(Long ownerId, Long bookingId, boolean isApproved) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new EntityNotFoundException(Booking.class, bookingId));
-        if (!booking.getItem().getOwnerId().equals(ownerId)) {
-            throw new EntityNotFoundException(Booking.class, bookingId);
-        } else if (booking.getStatus() != WAITING) {
+        BookingStatus newStatus = isApproved ? APPROVED : REJECTED;
+        Booking booking = null;
+        if (isApproved && overlapPrecheck) {
+            booking = getOwnedBooking(ownerId, bookingId);
+            lockItem(booking.getItem().getId());
+            if (hasApprovedIntersection(booking)) {
+                throw new BadRequestException("Intersection with approved bookings");
+            }
+        }
+        int updated;
+        try {
+            updated = bookingRepository.updateStatusOfWaiting(bookingId, ownerId, newStatus);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("Intersection with approved bookings");
+        }
+        if (booking == null) {
+            booking = getOwnedBooking(ownerId, bookingId);
+        }
+        if (updated == 0) {
             throw new BadRequestException("Can't change booking status");
         }
-        booking.setStatus(isApproved ? APPROVED : REJECTED);
-        Booking bookingUpdated = bookingRepository.save(booking);
-        log.info("Updated with status " + bookingUpdated);
+        booking.setStatus(newStatus);
+        recordEvent(BookingEvent.STATUS_CHANGED, BookingMapper.mapToBookingEvent(booking));
+        itemDetailsCache.invalidate(booking.getItem().getId());
+        if (newStatus == APPROVED) {
+            itemAvailabilityCache.invalidate(booking.getItem().getId());
+            approvedBookingIndex.addApproved(booking);
+        }
+        log.info("Updated with status " + booking);
 
-        return BookingMapper.mapToBookingOutput(bookingUpdated);
+        return BookingMapper.mapToBookingOutput(booking);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingStatusResult> changeStatuses(Long ownerId, List<BookingStatusChange> changes) {
+        if (changes.isEmpty() || changes.size() > MAX_STATUS_CHANGES) {
+            throw new BadRequestException("Expected from 1 to " + MAX_STATUS_CHANGES + " status changes");
+        }
+        List<Long> requestedIds = changes.stream()
+                .filter(Objects::nonNull)
+                .map(BookingStatusChange::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdInAndOwnerId(requestedIds, ownerId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        BookingStatusResult[] results = new BookingStatusResult[changes.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            BookingStatusChange change = changes.get(i);
+            Long bookingId = change != null ? change.getBookingId() : null;
+            Booking booking = bookings.get(bookingId);
+            if (bookingId == null || change.getApproved() == null) {
+                results[i] = BookingStatusResult.failure(bookingId, "Booking id and decision are required");
+            } else if (!seenIds.add(bookingId)) {
+                results[i] = BookingStatusResult.failure(bookingId, "Duplicate booking id");
+            } else if (booking == null) {
+                results[i] = BookingStatusResult.failure(bookingId,
+                        new EntityNotFoundException(Booking.class, bookingId).getMessage());
+            } else if (booking.getStatus() != WAITING) {
+                results[i] = BookingStatusResult.failure(bookingId, "Can't change booking status");
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            applyStatusChanges(changes, bookings, accepted, results);
+        }
+        return Arrays.asList(results);
     }
 
     @Override
     public BookingOutput get(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new EntityNotFoundException(Booking.class, bookingId));
-        if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getOwnerId().equals(userId)) {
+        if (!booking.getBooker().getId().equals(userId) && !booking.getOwnerId().equals(userId)) {
             throw new EntityNotFoundException(Booking.class, bookingId);
         }
         return BookingMapper.mapToBookingOutput(booking);
     }
 
     @Override
-    public List<BookingOutput> getByBooker(Long bookerId, QueryBookingState state, EntityPagination pagination) {
-        userRepository.findById(bookerId).orElseThrow(() -> new EntityNotFoundException(User.class, bookerId));
-        Pageable sortPage = PageRequest.of(pagination.getPage(), pagination.getSize(), Sort.by("start").descending());
-        return findBookingsByBooker(bookerId, state, sortPage);
+    public Slice<BookingOutput> getByBooker(Long bookerId, BookingFilter filter, EntityPagination pagination) {
+        throwIfUserNotFound(bookerId);
+        return findBookings(byBooker(bookerId), filter, pagination);
     }
 
     @Override
-    public List<BookingOutput> getByOwnerItems(Long ownerId, QueryBookingState state, EntityPagination pagination) {
-        userRepository.findById(ownerId).orElseThrow(() -> new EntityNotFoundException(User.class, ownerId));
-        Pageable sortPage = PageRequest.of(pagination.getPage(), pagination.getSize(), Sort.by("start").descending());
-        return findBookingsOfOwnerItems(ownerId, state, sortPage);
-    }
-
-    private List<BookingOutput> findBookingsByBooker(Long bookerId, QueryBookingState state, Pageable pageable) {
-        Page<Booking> page = Page.empty();
-        switch (state) {
-            case ALL:
-                page = bookingRepository.findAllByBooker_Id(bookerId, pageable);
-                break;
-            case WAITING:
-                page = bookingRepository.findAllByBooker_IdAndStatus(bookerId, WAITING, pageable);
-                break;
-            case REJECTED:
-                page = bookingRepository.findAllByBooker_IdAndStatus(bookerId, REJECTED, pageable);
-                break;
-            case PAST:
-                page = bookingRepository.findAllByBooker_IdAndEndBefore(bookerId, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                page = bookingRepository.findAllByBooker_IdAndStartAfter(bookerId, LocalDateTime.now(), pageable);
-                break;
-            case CURRENT:
-                page = bookingRepository.findAllCurrentBookingsByBookerId(bookerId, LocalDateTime.now(), pageable);
-                break;
-        }
-        return BookingMapper.mapToBookingOutput(page.getContent());
-    }
-
-    private List<BookingOutput> findBookingsOfOwnerItems(Long ownerId, QueryBookingState state, Pageable pageable) {
-        Page<Booking> page = Page.empty();
-        switch (state) {
-            case ALL:
-                page = bookingRepository.findAllByItem_OwnerId(ownerId, pageable);
-                break;
-            case WAITING:
-                page = bookingRepository.findAllByItem_OwnerIdAndStatus(ownerId, WAITING, pageable);
-                break;
-            case REJECTED:
-                page = bookingRepository.findAllByItem_OwnerIdAndStatus(ownerId, REJECTED, pageable);
-                break;
-            case PAST:
-                page = bookingRepository.findAllByItem_OwnerIdAndEndBefore(ownerId, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                page = bookingRepository.findAllByItem_OwnerIdAndStartAfter(ownerId, LocalDateTime.now(), pageable);
-                break;
-            case CURRENT:
-                page = bookingRepository.findAllCurrentBookingsByOwnerItems(ownerId, LocalDateTime.now(), pageable);
-                break;
-        }
-        return BookingMapper.mapToBookingOutput(page.getContent());
+    public Slice<BookingOutput> getByOwnerItems(Long ownerId, BookingFilter filter, EntityPagination pagination) {
+        throwIfUserNotFound(ownerId);
+        return findBookings(byOwner(ownerId), filter, pagination);
+    }
+
+    private void throwIfUserNotFound(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new EntityNotFoundException(User.class, userId);
+        }
+    }
+
+    private Slice<BookingOutput> findBookings(Specification<Booking> userSpecification, BookingFilter filter,
+                                              EntityPagination pagination) {
+        Specification<Booking> specification = userSpecification.and(matching(filter, LocalDateTime.now()));
+        return bookingRepository.findSlice(specification, pagination).map(BookingMapper::mapToBookingOutput);
+    }
+
+    private void applyStatusChanges(List<BookingStatusChange> changes, Map<Long, Booking> bookings,
+                                    List<Integer> accepted, BookingStatusResult[] results) {
+        Set<Long> itemIds = new TreeSet<>();
+        for (Integer i : accepted) {
+            itemIds.add(bookings.get(changes.get(i).getBookingId()).getItem().getId());
+        }
+        itemLocks.lockAllUntilCompletion(itemIds);
+        itemRepository.findAllByIdInForUpdate(itemIds);
+
+        Map<Long, BookingIntervalTree> approvedTrees = loadApprovedTrees(changes, bookings, accepted, itemIds);
+        List<Booking> toUpdate = new ArrayList<>();
+        List<BookingStatus> newStatuses = new ArrayList<>();
+        List<Integer> updatePositions = new ArrayList<>();
+        for (Integer i : accepted) {
+            Booking booking = bookings.get(changes.get(i).getBookingId());
+            boolean isApproved = changes.get(i).getApproved();
+            if (isApproved) {
+                BookingIntervalTree tree = approvedTrees.get(booking.getItem().getId());
+                if (tree.findOverlap(booking.getStart(), booking.getEnd()).isPresent()) {
+                    results[i] = BookingStatusResult.failure(booking.getId(), "Intersection with approved bookings");
+                    continue;
+                }
+                tree.add(new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd()));
+            }
+            toUpdate.add(booking);
+            newStatuses.add(isApproved ? APPROVED : REJECTED);
+            updatePositions.add(i);
+        }
+        if (toUpdate.isEmpty()) {
+            return;
+        }
+
+        boolean[] updated;
+        try {
+            updated = bookingRepository.updateStatusesOfWaiting(
+                    toUpdate.stream().map(Booking::getId).collect(Collectors.toList()), newStatuses);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("Intersection with approved bookings");
+        }
+        for (int j = 0; j < toUpdate.size(); j++) {
+            Booking booking = toUpdate.get(j);
+            int i = updatePositions.get(j);
+            if (!updated[j]) {
+                results[i] = BookingStatusResult.failure(booking.getId(), "Can't change booking status");
+                continue;
+            }
+            results[i] = BookingStatusResult.success(booking.getId(), newStatuses.get(j));
+            BookingEvent event = BookingMapper.mapToBookingEvent(booking);
+            event.setStatus(newStatuses.get(j));
+            recordEvent(BookingEvent.STATUS_CHANGED, event);
+            itemDetailsCache.invalidate(booking.getItem().getId());
+            if (newStatuses.get(j) == APPROVED) {
+                itemAvailabilityCache.invalidate(booking.getItem().getId());
+                approvedBookingIndex.addApproved(booking);
+            }
+        }
+        log.info("Updated statuses of {} bookings", toUpdate.size());
+    }
+
+    private Map<Long, BookingIntervalTree> loadApprovedTrees(List<BookingStatusChange> changes,
+                                                            Map<Long, Booking> bookings, List<Integer> accepted,
+                                                            Set<Long> itemIds) {
+        Map<Long, BookingIntervalTree> trees = new HashMap<>();
+        itemIds.forEach(itemId -> trees.put(itemId, new BookingIntervalTree()));
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (Integer i : accepted) {
+            Booking booking = bookings.get(changes.get(i).getBookingId());
+            if (changes.get(i).getApproved()) {
+                from = from == null || booking.getStart().isBefore(from) ? booking.getStart() : from;
+                to = to == null || booking.getEnd().isAfter(to) ? booking.getEnd() : to;
+            }
+        }
+        if (from != null) {
+            for (Booking approved : bookingRepository.findApprovedIntersectionOfItems(itemIds, from, to)) {
+                trees.get(approved.getItem().getId())
+                        .add(new BookingInterval(approved.getId(), approved.getStart(), approved.getEnd()));
+            }
+        }
+        return trees;
+    }
+
+    private void recordEvent(String eventType, BookingEvent event) {
+        outbox.add(BookingEvent.AGGREGATE_TYPE, event.getBookingId(), eventType, event);
+    }
+
+    private Booking getOwnedBooking(Long ownerId, Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .filter(booking -> booking.getOwnerId().equals(ownerId))
+                .orElseThrow(() -> new EntityNotFoundException(Booking.class, bookingId));
+    }
+
+    private Item lockItem(Long itemId) {
+        itemLocks.lockUntilCompletion(itemId);
+        return itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new EntityNotFoundException(Item.class, itemId));
+    }
+
+    private boolean hasApprovedIntersection(Booking booking) {
+        return !bookingRepository.findApprovedIntersection(booking.getItem().getId(), booking.getStart(),
+                booking.getEnd()).isEmpty();
     }
 
     private void throwIfBookingIsNotValid(Booking booking) {
@@ -160,7 +329,7 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Item not available");
         } else if (booking.getBooker().getId().equals(item.getOwnerId())) {
             throw new EntityNotFoundException(Item.class, item.getId());
-        } else if (!bookingRepository.findApprovedIntersection(item.getId(), start, end).isEmpty()) {
+        } else if (approvedBookingIndex.findOverlap(item.getId(), start, end).isPresent()) {
             throw new BadRequestException("Intersection with approved bookings");
         }
     }
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.booking.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+
+/**
+ * Predicates of booking list queries. A missing filter value gives {@code null}, which
+ * {@link Specification#and(Specification)} skips, so every combination is still one query.
+ */
+public class BookingSpecifications {
+
+    public static Specification<Booking> byBooker(Long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byOwner(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    public static Specification<Booking> matching(BookingFilter filter, LocalDateTime timestamp) {
+        return Specification.where(inState(filter.getState(), timestamp))
+                .and(byItem(filter.getItemId()))
+                .and(withStatusIn(filter))
+                .and(overlapping(filter.getRangeStart(), filter.getRangeEnd()));
+    }
+
+    static Specification<Booking> inState(QueryBookingState state, LocalDateTime timestamp) {
+        switch (state) {
+            case WAITING:
+                return (root, query, cb) -> cb.equal(root.get("status"), WAITING);
+            case REJECTED:
+                return (root, query, cb) -> cb.equal(root.get("status"), REJECTED);
+            case PAST:
+                return (root, query, cb) -> cb.lessThan(root.get("end"), timestamp);
+            case FUTURE:
+                return (root, query, cb) -> cb.greaterThan(root.get("start"), timestamp);
+            case CURRENT:
+                return (root, query, cb) -> cb.and(
+                        cb.lessThanOrEqualTo(root.get("start"), timestamp),
+                        cb.greaterThanOrEqualTo(root.get("end"), timestamp));
+            default:
+                return null;
+        }
+    }
+
+    static Specification<Booking> byItem(Long itemId) {
+        if (itemId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("item").get("id"), itemId);
+    }
+
+    static Specification<Booking> withStatusIn(BookingFilter filter) {
+        if (filter.getStatuses() == null || filter.getStatuses().isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("status").in(filter.getStatuses());
+    }
+
+    static Specification<Booking> overlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        Specification<Booking> endsAfterStart = rangeStart == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("end"), rangeStart);
+        Specification<Booking> startsBeforeEnd = rangeEnd == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("start"), rangeEnd);
+        return Specification.where(endsAfterStart).and(startsBeforeEnd);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingEvent {
+    public static final String AGGREGATE_TYPE = "BOOKING";
+    public static final String CREATED = "BOOKING_CREATED";
+    public static final String STATUS_CHANGED = "BOOKING_STATUS_CHANGED";
+
+    private Long bookingId;
+    private Long itemId;
+    private Long bookerId;
+    private Long ownerId;
+    private BookingStatus status;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
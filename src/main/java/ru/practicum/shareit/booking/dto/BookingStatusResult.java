@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingStatusResult {
+    private Long bookingId;
+    private BookingStatus status;
+    private String error;
+
+    public static BookingStatusResult success(Long bookingId, BookingStatus status) {
+        return new BookingStatusResult(bookingId, status, null);
+    }
+
+    public static BookingStatusResult failure(Long bookingId, String error) {
+        return new BookingStatusResult(bookingId, null, error);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Approved bookings of recently checked items. A tree is loaded from the database on the first check of an item
+ * and then kept current by approvals, bookings that ended long ago are not loaded since new ones can't start there.
+ * Answers are confirmed against the database: a hit is checked by the booking row, a miss by the approved
+ * intersection query, and the tree is corrected when either disagrees.
+ */
+@Component
+public class ApprovedBookingIndex {
+    private static final Duration HISTORY_MARGIN = Duration.ofDays(1);
+
+    private final BookingRepository bookingRepository;
+    private final int maxItems;
+    private final ConcurrentMap<Long, BookingIntervalTree> trees = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApprovedBookingIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.interval-index.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+    }
+
+    public Optional<BookingInterval> findOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingIntervalTree tree = trees.get(itemId);
+        if (tree == null) {
+            evictIfFull();
+            tree = trees.computeIfAbsent(itemId, this::load);
+        }
+        while (true) {
+            Optional<BookingInterval> overlap;
+            synchronized (tree) {
+                overlap = tree.findOverlap(start, end);
+            }
+            if (overlap.isEmpty()) {
+                return findApprovedIntersection(tree, itemId, start, end);
+            }
+            Long bookingId = overlap.get().getId();
+            if (bookingRepository.findById(bookingId).filter(b -> isApprovedOverlap(b, start, end)).isPresent()) {
+                return overlap;
+            }
+            synchronized (tree) {
+                tree.remove(bookingId);
+            }
+        }
+    }
+
+    public void addApproved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        BookingInterval interval = new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd());
+        AfterCommit.run(() -> trees.computeIfPresent(itemId, (id, tree) -> {
+            synchronized (tree) {
+                tree.add(interval);
+            }
+            return tree;
+        }));
+    }
+
+    public void invalidate(Long itemId) {
+        trees.remove(itemId);
+    }
+
+    private Optional<BookingInterval> findApprovedIntersection(BookingIntervalTree tree, Long itemId,
+                                                               LocalDateTime start, LocalDateTime end) {
+        List<BookingInterval> missed = bookingRepository.findApprovedIntersection(itemId, start, end).stream()
+                .map(b -> new BookingInterval(b.getId(), b.getStart(), b.getEnd()))
+                .collect(Collectors.toList());
+        if (missed.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (tree) {
+            missed.forEach(interval -> {
+                tree.remove(interval.getId());
+                tree.add(interval);
+            });
+        }
+        return Optional.of(missed.get(0));
+    }
+
+    private static boolean isApprovedOverlap(Booking booking, LocalDateTime start, LocalDateTime end) {
+        return booking.getStatus() == BookingStatus.APPROVED
+                && !booking.getStart().isAfter(end) && !booking.getEnd().isBefore(start);
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        LocalDateTime from = LocalDateTime.now().minus(HISTORY_MARGIN);
+        bookingRepository.findApprovedIntervals(itemId, from).forEach(tree::add);
+        return tree;
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> itemIds = trees.keySet().iterator();
+        while (trees.size() >= maxItems && itemIds.hasNext()) {
+            itemIds.next();
+            itemIds.remove();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.interval;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingInterval {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
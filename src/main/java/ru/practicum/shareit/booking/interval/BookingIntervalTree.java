@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * AVL tree of closed booking intervals ordered by start, every node keeps the maximum end of its subtree,
+ * so an overlap query visits one root-to-leaf path. Not thread-safe.
+ */
+public class BookingIntervalTree {
+    private final Map<Long, BookingInterval> intervals = new HashMap<>();
+    private Node root;
+
+    public void add(BookingInterval interval) {
+        if (intervals.containsKey(interval.getId())) {
+            return;
+        }
+        intervals.put(interval.getId(), interval);
+        root = insert(root, interval);
+    }
+
+    public void remove(Long bookingId) {
+        BookingInterval interval = intervals.remove(bookingId);
+        if (interval != null) {
+            root = delete(root, interval);
+        }
+    }
+
+    public Optional<BookingInterval> findOverlap(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (!node.interval.getStart().isAfter(end) && !node.interval.getEnd().isBefore(start)) {
+                return Optional.of(node.interval);
+            }
+            if (node.left != null && !node.left.maxEnd.isBefore(start)) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return intervals.size();
+    }
+
+    private Node insert(Node node, BookingInterval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = delete(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, interval);
+        } else if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        } else {
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = delete(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private static int compare(BookingInterval a, BookingInterval b) {
+        int cmp = a.getStart().compareTo(b.getStart());
+        return cmp != 0 ? cmp : a.getId().compareTo(b.getId());
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.interval.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+        private BookingInterval interval;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/caches")
+public class CacheController {
+    private final CacheRegistry cacheRegistry;
+
+    @Autowired
+    public CacheController(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    @GetMapping("/stats")
+    public List<CacheStats> getCacheStats() {
+        return cacheRegistry.getStats();
+    }
+}
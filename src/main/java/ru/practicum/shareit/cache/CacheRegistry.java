@@ -0,0 +1,28 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+@Component
+public class CacheRegistry {
+    private final Map<String, BoundedCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> BoundedCache<K, V> create(String name, int maxSize, Duration ttl) {
+        BoundedCache<K, V> cache = new BoundedCache<>(name, maxSize, ttl);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache " + name + " already registered");
+        }
+        return cache;
+    }
+
+    public List<CacheStats> getStats() {
+        return caches.values().stream()
+                .map(BoundedCache::stats)
+                .collect(Collectors.toList());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,7 +29,8 @@ public class ErrorHandler {
         return new ErrorResponse("Validation failed", details);
     }
 
-    @ExceptionHandler(value = {BadRequestException.class, IllegalArgumentException.class})
+    @ExceptionHandler(value = {BadRequestException.class, IllegalArgumentException.class,
+            MethodArgumentTypeMismatchException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBadRequestException(final RuntimeException ex) {
         log.warn("BadRequestException: " + ex.getMessage());
@@ -1,13 +1,25 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.availability.AvailabilityGranularity;
+import ru.practicum.shareit.item.availability.ItemAvailability;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.comment.CommentOutput;
+import ru.practicum.shareit.item.dto.ItemCreateResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.PaginationHeaders;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,10 +28,12 @@ public class ItemController {
     private static final String USER_ID_REQUEST_HEADER = "X-Sharer-User-Id";
 
     private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ItemAvailabilityService itemAvailabilityService) {
         this.itemService = itemService;
+        this.itemAvailabilityService = itemAvailabilityService;
     }
 
     @GetMapping("/{itemId}")
@@ -28,12 +42,25 @@ public class ItemController {
         return itemService.get(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailability getItemAvailability(
+            @RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false, defaultValue = "DAY") String granularity) {
+        return itemAvailabilityService.get(userId, itemId, from, to, convertGranularity(granularity));
+    }
+
     @GetMapping
     public List<ItemDto> getOwnerItems(
             @RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "10") int size) {
-        return itemService.getByOwner(userId, EntityPagination.of(from, size));
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        Slice<ItemDto> items = itemService.getByOwner(userId, EntityPagination.of(from, size, cursor));
+        return PaginationHeaders.withHeaders(response, items, i -> PageCursor.of(i.getId()));
     }
 
     @PostMapping
@@ -42,6 +69,12 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemCreateResult> createNewItems(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
+                                                 @RequestBody List<ItemDto> itemDtos) {
+        return itemService.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
                               @PathVariable Long itemId,
@@ -58,13 +91,33 @@ public class ItemController {
         return itemService.createComment(userId, itemId, commentDto);
     }
 
+    @GetMapping("/suggest")
+    public List<String> getItemNameSuggestions(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
+                                               @RequestParam String prefix,
+                                               @RequestParam(required = false, defaultValue = "10") int size) {
+        return itemService.getNameSuggestions(userId, prefix, size);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> getItemsAvailableToRentByText(
             @RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
             @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false, defaultValue = "false") boolean fuzzy,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "10") int size) {
-        return itemService.getAvailableToRentByText(userId, text.toLowerCase(), EntityPagination.of(from, size));
+            @RequestParam(required = false, defaultValue = "10") int size,
+            HttpServletResponse response) {
+        Slice<ItemDto> items = itemService.getAvailableToRentByText(userId, text.toLowerCase(), start, end, fuzzy,
+                EntityPagination.of(from, size));
+        return PaginationHeaders.withHeaders(response, items);
     }
 
+    private AvailabilityGranularity convertGranularity(String granularity) {
+        try {
+            return AvailabilityGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown granularity: " + granularity);
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.BoundedCache;
+import ru.practicum.shareit.cache.CacheRegistry;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.time.Duration;
+
+/**
+ * Item views keyed by item and viewer role. A view is only stored when its item was not invalidated
+ * since the caller took a token with {@link #readToken}, so a slow reader cannot put back a stale view.
+ */
+@Component
+public class ItemDetailsCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final BoundedCache<Long, Long> owners;
+    private final BoundedCache<ViewKey, ItemDto> views;
+
+    @Autowired
+    public ItemDetailsCache(CacheRegistry cacheRegistry,
+                            @Value("${shareit.cache.item.max-size:10000}") int maxSize,
+                            @Value("${shareit.cache.item.ttl:60s}") Duration ttl) {
+        this.owners = cacheRegistry.create("item-owners", maxSize, ttl);
+        this.views = cacheRegistry.create("item-views", 2 * maxSize, ttl);
+    }
+
+    public ItemDto get(Long itemId, Long userId) {
+        Long ownerId = owners.get(itemId);
+        if (ownerId == null) {
+            return null;
+        }
+        return views.get(new ViewKey(itemId, ownerId.equals(userId)));
+    }
+
+    /**
+     * Returns a token to take before loading the item from the database.
+     */
+    public synchronized long readToken(Long itemId) {
+        return generations[stripe(itemId)];
+    }
+
+    public synchronized void put(Long ownerId, Long userId, ItemDto dto, long token) {
+        if (generations[stripe(dto.getId())] != token) {
+            return;
+        }
+        owners.put(dto.getId(), ownerId);
+        views.put(new ViewKey(dto.getId(), ownerId.equals(userId)), dto);
+    }
+
+    public void invalidate(Long itemId) {
+        evict(itemId);
+        AfterCommit.run(() -> evict(itemId));
+    }
+
+    /**
+     * Drops all views, e.g. when deleting a user removes their items, comments and bookings.
+     */
+    public void invalidateAll() {
+        evictAll();
+        AfterCommit.run(this::evictAll);
+    }
+
+    private synchronized void evict(Long itemId) {
+        generations[stripe(itemId)]++;
+        views.invalidate(new ViewKey(itemId, true));
+        views.invalidate(new ViewKey(itemId, false));
+    }
+
+    private synchronized void evictAll() {
+        for (int i = 0; i < generations.length; i++) {
+            generations[i]++;
+        }
+        owners.invalidateAll();
+        views.invalidateAll();
+    }
+
+    private static int stripe(Long itemId) {
+        return Math.floorMod(itemId.hashCode(), GENERATION_STRIPES);
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class ViewKey {
+        private final Long itemId;
+        private final boolean ownerView;
+    }
+}
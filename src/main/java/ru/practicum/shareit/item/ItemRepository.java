@@ -1,11 +1,12 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -13,15 +14,57 @@ import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    Slice<Item> findAllByOwnerIdAndIdGreaterThan(Long ownerId, Long id, Pageable pageable);
 
     Optional<Item> findByIdAndOwnerId(Long id, Long ownerId);
 
+    @Query("SELECT i.id FROM Item i WHERE i.ownerId = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query(value = "SELECT * FROM items WHERE id = ?1 FOR UPDATE", nativeQuery = true)
+    Optional<Item> findByIdForUpdate(Long id);
+
+    @Query(value = "SELECT * FROM items WHERE id IN (?1) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Item> findAllByIdInForUpdate(Collection<Long> ids);
+
     @Query(" SELECT i FROM Item i " +
             "WHERE i.available = true AND " +
             "(UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%') ) " +
-            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')) )")
-    Page<Item> findAvailableToRentByText(String text, Pageable pageable);
+            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')) ) " +
+            "ORDER BY CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) THEN 0 ELSE 1 END, i.id")
+    Slice<Item> findAvailableToRentByText(String text, Pageable pageable);
+
+    @Query(" SELECT i FROM Item i " +
+            "WHERE i.available = true AND " +
+            "(UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%') ) " +
+            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')) ) AND " +
+            "NOT EXISTS (SELECT b.id FROM Booking b " +
+            "   WHERE b.item.id = i.id AND b.status = ru.practicum.shareit.booking.BookingStatus.APPROVED AND " +
+            "   b.end >= ?2 AND b.start <= ?3) " +
+            "ORDER BY CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) THEN 0 ELSE 1 END, i.id")
+    Slice<Item> findAvailableToRentByTextInWindow(String text, LocalDateTime start, LocalDateTime end,
+                                                  Pageable pageable);
+
+    @Query(value = " SELECT * FROM items i " +
+            "WHERE i.available = TRUE AND " +
+            "(i.name ILIKE '%' || ?1 || '%' OR i.description ILIKE '%' || ?1 || '%') " +
+            "ORDER BY i.name ILIKE '%' || ?1 || '%' DESC, word_similarity(?1, i.name) DESC, " +
+            "word_similarity(?1, i.description) DESC, i.id", nativeQuery = true)
+    Slice<Item> findAvailableToRentByTextTrigram(String text, Pageable pageable);
+
+    @Query(value = " SELECT * FROM items i " +
+            "WHERE i.available = TRUE AND " +
+            "(i.name ILIKE '%' || ?1 || '%' OR i.description ILIKE '%' || ?1 || '%') AND " +
+            "NOT EXISTS (SELECT 1 FROM bookings b " +
+            "   WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.end_date >= ?2 AND b.start_date <= ?3) " +
+            "ORDER BY i.name ILIKE '%' || ?1 || '%' DESC, word_similarity(?1, i.name) DESC, " +
+            "word_similarity(?1, i.description) DESC, i.id", nativeQuery = true)
+    Slice<Item> findAvailableToRentByTextTrigramInWindow(String text, LocalDateTime start, LocalDateTime end,
+                                                         Pageable pageable);
+
+    List<Item> findAllByAvailableTrue();
 
     List<Item> findAllByRequestId(Long requestId);
 
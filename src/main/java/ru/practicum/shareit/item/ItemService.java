@@ -1,22 +1,36 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentOutput;
+import ru.practicum.shareit.item.dto.ItemCreateResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.pagination.EntityPagination;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto get(Long userId, Long id);
 
-    List<ItemDto> getByOwner(Long userId, EntityPagination pagination);
+    Slice<ItemDto> getByOwner(Long userId, EntityPagination pagination);
 
-    List<ItemDto> getAvailableToRentByText(Long userId, String text, EntityPagination pagination);
+    Slice<ItemDto> getAvailableToRentByText(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                            boolean fuzzy, EntityPagination pagination);
+
+    List<String> getNameSuggestions(Long userId, String prefix, int size);
 
     ItemDto create(Long userId, ItemDto itemDto);
 
+    List<ItemCreateResult> createAll(Long userId, List<ItemDto> itemDtos);
+
     ItemDto update(Long userId, ItemDto itemDto);
 
     CommentOutput createComment(Long userId, Long itemId, CommentDto commentDto);
+
+    /**
+     * Drops in-memory data of the owner's items. Called before deleting the owner, as the delete cascades
+     * to the items; the data is dropped after commit.
+     */
+    void evictOwnerItems(Long ownerId);
 }
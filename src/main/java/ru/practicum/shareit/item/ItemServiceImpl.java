@@ -2,55 +2,100 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.comment.*;
+import ru.practicum.shareit.item.dto.ItemCreateResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemTextSearch;
+import ru.practicum.shareit.item.search.ItemVocabulary;
 import ru.practicum.shareit.pagination.EntityPagination;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_BATCH_ITEMS = 1000;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemTextSearch itemTextSearch;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemVocabulary itemVocabulary;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final UserExistenceCache userExistenceCache;
+    private final Validator validator;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository,
                            UserRepository userRepository,
                            BookingRepository bookingRepository,
                            CommentRepository commentRepository,
-                           ItemRequestRepository requestRepository) {
+                           ItemRequestRepository requestRepository,
+                           ItemTextSearch itemTextSearch,
+                           ItemNameSuggester itemNameSuggester,
+                           ItemVocabulary itemVocabulary,
+                           ItemDetailsCache itemDetailsCache,
+                           ItemAvailabilityCache itemAvailabilityCache,
+                           UserExistenceCache userExistenceCache,
+                           Validator validator) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.requestRepository = requestRepository;
+        this.itemTextSearch = itemTextSearch;
+        this.itemNameSuggester = itemNameSuggester;
+        this.itemVocabulary = itemVocabulary;
+        this.itemDetailsCache = itemDetailsCache;
+        this.itemAvailabilityCache = itemAvailabilityCache;
+        this.userExistenceCache = userExistenceCache;
+        this.validator = validator;
     }
 
     @Override
     public ItemDto get(Long userId, Long id) {
         throwIfUserNotFound(userId);
+        ItemDto cachedDto = itemDetailsCache.get(id, userId);
+        if (cachedDto != null) {
+            return cachedDto;
+        }
+        long cacheToken = itemDetailsCache.readToken(id);
         Item item = itemRepository.findById(id)
                                   .orElseThrow(() -> new EntityNotFoundException(Item.class, id));
 
@@ -60,35 +105,52 @@ public class ItemServiceImpl implements ItemService {
             dto.setNextBooking(findNextItemBooking(dto.getId()));
         }
         dto.setComments(commentRepository.findItemComments(id));
+        itemDetailsCache.put(item.getOwnerId(), userId, dto, cacheToken);
 
         return dto;
     }
 
     @Override
-    public List<ItemDto> getByOwner(Long userId, EntityPagination pagination) {
+    public Slice<ItemDto> getByOwner(Long userId, EntityPagination pagination) {
         throwIfUserNotFound(userId);
-        Pageable sortPage = PageRequest.of(pagination.getPage(), pagination.getSize(), Sort.by("id").ascending());
-        Page<Item> page = itemRepository.findAllByOwnerId(userId, sortPage);
-        List<ItemDto> dtos = ItemMapper.mapToItemDto(page.getContent());
-        for (ItemDto dto : dtos) {
-            dto.setLastBooking(findLastItemBooking(dto.getId()));
-            dto.setNextBooking(findNextItemBooking(dto.getId()));
-            dto.setComments(commentRepository.findItemComments(dto.getId()));
+        Slice<Item> page;
+        if (pagination.hasCursor()) {
+            Pageable sortPage = PageRequest.of(0, pagination.getSize(), Sort.by("id").ascending());
+            page = itemRepository.findAllByOwnerIdAndIdGreaterThan(userId, pagination.getCursor().getId(), sortPage);
+        } else {
+            Pageable sortPage = PageRequest.of(pagination.getPage(), pagination.getSize(), Sort.by("id").ascending());
+            page = itemRepository.findAllByOwnerId(userId, sortPage);
         }
+        List<ItemDto> dtos = ItemMapper.mapToItemDto(page.getContent());
+        fillItemsDtoWithBookingsAndComments(dtos);
 
-        return dtos;
+        return new SliceImpl<>(dtos, page.getPageable(), page.hasNext());
     }
 
     @Override
-    public List<ItemDto> getAvailableToRentByText(Long userId, String text, EntityPagination pagination) {
+    public Slice<ItemDto> getAvailableToRentByText(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                                   boolean fuzzy, EntityPagination pagination) {
         throwIfUserNotFound(userId);
+        if ((start == null) != (end == null) || (start != null && start.isAfter(end))) {
+            throw new BadRequestException("Wrong start/end search datetime");
+        }
 
         if (text == null || text.isBlank()) {
-            return Collections.emptyList();
+            return new SliceImpl<>(Collections.emptyList());
         }
-        Pageable pageable = PageRequest.of(pagination.getPage(), pagination.getSize());
-        Page<Item> page = itemRepository.findAvailableToRentByText(text, pageable);
-        return ItemMapper.mapToItemDto(page.getContent());
+        if (fuzzy) {
+            text = itemVocabulary.correct(text);
+        }
+        return itemTextSearch.findAvailableToRent(text, start, end, pagination).map(ItemMapper::mapToItemDto);
+    }
+
+    @Override
+    public List<String> getNameSuggestions(Long userId, String prefix, int size) {
+        throwIfUserNotFound(userId);
+        if (size < 1 || size > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Suggestion size should be from 1 to " + MAX_SUGGESTIONS);
+        }
+        return itemNameSuggester.suggest(prefix, size);
     }
 
     @Transactional
@@ -103,11 +165,55 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item item = itemRepository.save(ItemMapper.mapToItem(itemDto, userId));
+        refreshSearch(item);
         log.info("Created " + item);
 
         return ItemMapper.mapToItemDto(item);
     }
 
+    @Transactional
+    @Override
+    public List<ItemCreateResult> createAll(Long userId, List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_ITEMS) {
+            throw new BadRequestException("Expected from 1 to " + MAX_BATCH_ITEMS + " items");
+        }
+        throwIfUserNotFound(userId);
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty() ? Collections.emptySet()
+                : requestRepository.findAllById(requestIds).stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toSet());
+
+        ItemCreateResult[] results = new ItemCreateResult[itemDtos.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            String error = validateNewItem(itemDto, existingRequestIds);
+            if (error != null) {
+                results[i] = ItemCreateResult.failure(i, error);
+                continue;
+            }
+            Item item = ItemMapper.mapToItem(itemDto, userId);
+            item.setId(null);
+            items.add(item);
+            positions.add(i);
+        }
+
+        List<Item> savedItems = itemRepository.saveAll(items);
+        for (int j = 0; j < savedItems.size(); j++) {
+            Item item = savedItems.get(j);
+            refreshSearch(item);
+            results[positions.get(j)] = ItemCreateResult.success(positions.get(j), ItemMapper.mapToItemDto(item));
+        }
+        log.info("Created {} of {} items for user id={}", savedItems.size(), itemDtos.size(), userId);
+
+        return Arrays.asList(results);
+    }
+
     @Transactional
     @Override
     public ItemDto update(Long userId, ItemDto itemDto) {
@@ -128,6 +234,8 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(ItemMapper.mapToItem(databaseItemDto, userId));
+        refreshSearch(updatedItem);
+        itemDetailsCache.invalidate(updatedItem.getId());
         log.info("Updated " + updatedItem);
 
         return ItemMapper.mapToItemDto(updatedItem);
@@ -142,17 +250,70 @@ public class ItemServiceImpl implements ItemService {
             throw new BadRequestException("Failed booking");
         }
         Comment comment = commentRepository.save(CommentMapper.mapToNewComment(commentDto, itemId, user));
+        itemDetailsCache.invalidate(itemId);
         log.info("Created " + comment);
 
         return CommentMapper.mapToCommentDto(comment);
     }
 
+    @Override
+    public void evictOwnerItems(Long ownerId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(ownerId);
+        itemNameSuggester.removeAll(itemIds);
+        itemVocabulary.removeAll(itemIds);
+        itemIds.forEach(itemAvailabilityCache::invalidate);
+    }
+
+    private String validateNewItem(ItemDto itemDto, Set<Long> existingRequestIds) {
+        if (itemDto == null) {
+            return "Item should not be null";
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        Long requestId = itemDto.getRequestId();
+        if (requestId != null && !existingRequestIds.contains(requestId)) {
+            return new EntityNotFoundException(ItemRequest.class, requestId).getMessage();
+        }
+        return null;
+    }
+
+    private void refreshSearch(Item item) {
+        itemTextSearch.refresh(item);
+        itemNameSuggester.refresh(item);
+        itemVocabulary.refresh(item);
+    }
+
     private void throwIfUserNotFound(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new EntityNotFoundException(User.class, userId);
         }
     }
 
+    private void fillItemsDtoWithBookingsAndComments(List<ItemDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        Set<Long> itemIds = dtos.stream().map(ItemDto::getId).collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingShort> lastBookings = bookingRepository.findLastBookingsOfItems(itemIds, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), BookingMapper::mapToBookingShort));
+        Map<Long, BookingShort> nextBookings = bookingRepository.findNextBookingsOfItems(itemIds, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), BookingMapper::mapToBookingShort));
+        Map<Long, List<CommentOutput>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(Comment::getItemId,
+                        Collectors.mapping(CommentMapper::mapToCommentDto, Collectors.toList())));
+        for (ItemDto dto : dtos) {
+            dto.setLastBooking(lastBookings.get(dto.getId()));
+            dto.setNextBooking(nextBookings.get(dto.getId()));
+            dto.setComments(comments.getOrDefault(dto.getId(), new ArrayList<>()));
+        }
+    }
+
     private BookingShort findLastItemBooking(Long itemId) {
         List<BookingShort> bookings = bookingRepository.findLastBookings(itemId, LocalDateTime.now());
         if (bookings.isEmpty()) {
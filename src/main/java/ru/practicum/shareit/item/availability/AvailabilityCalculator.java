@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.availability;
+
+import ru.practicum.shareit.booking.interval.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AvailabilityCalculator {
+
+    public static ItemAvailability calculate(Long itemId, LocalDateTime from, LocalDateTime to,
+                                             AvailabilityGranularity granularity, List<BookingInterval> bookings) {
+        List<BusyInterval> busy = merge(bookings, from, to);
+        return new ItemAvailability(itemId, from, to, granularity, busy, toSlots(busy, from, to, granularity));
+    }
+
+    /**
+     * Sweep line over booking starts and ends clipped to [from, to]. Overlapping and touching bookings
+     * become one busy interval; the result is ordered by start.
+     */
+    static List<BusyInterval> merge(List<BookingInterval> bookings, LocalDateTime from, LocalDateTime to) {
+        List<Event> events = new ArrayList<>();
+        for (BookingInterval booking : bookings) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            if (!start.isAfter(end)) {
+                events.add(new Event(start, 1));
+                events.add(new Event(end, -1));
+            }
+        }
+        events.sort((a, b) -> {
+            int byTime = a.time.compareTo(b.time);
+            return byTime != 0 ? byTime : Integer.compare(b.delta, a.delta);
+        });
+
+        List<BusyInterval> busy = new ArrayList<>();
+        int open = 0;
+        LocalDateTime busyStart = null;
+        for (Event event : events) {
+            if (open == 0) {
+                busyStart = event.time;
+            }
+            open += event.delta;
+            if (open == 0) {
+                busy.add(new BusyInterval(busyStart, event.time));
+            }
+        }
+        return busy;
+    }
+
+    static String toSlots(List<BusyInterval> busy, LocalDateTime from, LocalDateTime to,
+                          AvailabilityGranularity granularity) {
+        StringBuilder slots = new StringBuilder();
+        int next = 0;
+        for (LocalDateTime slotStart = from; slotStart.isBefore(to); ) {
+            LocalDateTime slotEnd = slotStart.plus(1, granularity.getUnit());
+            while (next < busy.size() && !busy.get(next).getEnd().isAfter(slotStart)) {
+                next++;
+            }
+            boolean isBusy = next < busy.size() && busy.get(next).getStart().isBefore(slotEnd);
+            slots.append(isBusy ? '1' : '0');
+            slotStart = slotEnd;
+        }
+        return slots.toString();
+    }
+
+    private static class Event {
+        private final LocalDateTime time;
+        private final int delta;
+
+        Event(LocalDateTime time, int delta) {
+            this.time = time;
+            this.delta = delta;
+        }
+    }
+}
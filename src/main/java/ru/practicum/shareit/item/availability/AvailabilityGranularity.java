@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.temporal.ChronoUnit;
+
+public enum AvailabilityGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    AvailabilityGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
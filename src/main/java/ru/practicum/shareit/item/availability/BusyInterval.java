@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BusyInterval {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
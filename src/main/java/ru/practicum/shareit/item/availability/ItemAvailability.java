@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Free/busy calendar of an item. {@code slots} has one character per granularity step starting at {@code from}:
+ * '1' if an approved booking takes any part of the step, '0' otherwise.
+ */
+@Data
+@AllArgsConstructor
+public class ItemAvailability {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private AvailabilityGranularity granularity;
+    private List<BusyInterval> busy;
+    private String slots;
+}
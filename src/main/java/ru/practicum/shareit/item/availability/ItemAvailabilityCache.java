@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.BoundedCache;
+import ru.practicum.shareit.cache.CacheRegistry;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+public class ItemAvailabilityCache {
+    private final BoundedCache<Key, ItemAvailability> calendars;
+
+    @Autowired
+    public ItemAvailabilityCache(CacheRegistry cacheRegistry,
+                                 @Value("${shareit.cache.item.max-size:10000}") int maxSize,
+                                 @Value("${shareit.cache.item.ttl:60s}") Duration ttl) {
+        this.calendars = cacheRegistry.create("item-availability", maxSize, ttl);
+    }
+
+    public ItemAvailability get(Long itemId, LocalDateTime from, LocalDateTime to,
+                                AvailabilityGranularity granularity) {
+        return calendars.get(new Key(itemId, from, to, granularity));
+    }
+
+    public void put(ItemAvailability availability) {
+        calendars.put(new Key(availability.getItemId(), availability.getFrom(), availability.getTo(),
+                availability.getGranularity()), availability);
+    }
+
+    public void invalidate(Long itemId) {
+        evict(itemId);
+        AfterCommit.run(() -> evict(itemId));
+    }
+
+    private void evict(Long itemId) {
+        calendars.invalidateIf(key -> key.itemId.equals(itemId));
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final Long itemId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final AvailabilityGranularity granularity;
+    }
+}
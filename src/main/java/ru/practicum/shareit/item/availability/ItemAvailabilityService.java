@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.LocalDateTime;
+
+public interface ItemAvailabilityService {
+    ItemAvailability get(Long userId, Long itemId, LocalDateTime from, LocalDateTime to,
+                         AvailabilityGranularity granularity);
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item.availability;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserExistenceCache;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@Service
+@Transactional(readOnly = true)
+public class ItemAvailabilityServiceImpl implements ItemAvailabilityService {
+    static final int MAX_SLOTS = 1000;
+    static final int DEFAULT_DAYS = 30;
+
+    private final ItemRepository itemRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final BookingRepository bookingRepository;
+    private final ItemAvailabilityCache availabilityCache;
+
+    @Autowired
+    public ItemAvailabilityServiceImpl(ItemRepository itemRepository,
+                                       UserExistenceCache userExistenceCache,
+                                       BookingRepository bookingRepository,
+                                       ItemAvailabilityCache availabilityCache) {
+        this.itemRepository = itemRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.bookingRepository = bookingRepository;
+        this.availabilityCache = availabilityCache;
+    }
+
+    @Override
+    public ItemAvailability get(Long userId, Long itemId, LocalDateTime from, LocalDateTime to,
+                                AvailabilityGranularity granularity) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new EntityNotFoundException(User.class, userId);
+        }
+        LocalDateTime start = (from != null ? from : LocalDateTime.now()).truncatedTo(granularity.getUnit());
+        LocalDateTime end = to != null ? to : start.plusDays(DEFAULT_DAYS);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("Wrong from/to availability datetime");
+        } else if (start.plus(MAX_SLOTS, granularity.getUnit()).isBefore(end)) {
+            throw new BadRequestException("Availability range is limited to " + MAX_SLOTS + " slots");
+        }
+
+        ItemAvailability cached = availabilityCache.get(itemId, start, end, granularity);
+        if (cached != null) {
+            return cached;
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException(Item.class, itemId);
+        }
+        ItemAvailability availability = AvailabilityCalculator.calculate(itemId, start, end, granularity,
+                bookingRepository.findApprovedIntervalsBetween(itemId, start, end));
+        availabilityCache.put(availability);
+        return availability;
+    }
+}
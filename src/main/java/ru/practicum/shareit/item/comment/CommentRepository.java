@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.comment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -11,4 +12,9 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             "FROM Comment c " +
             "WHERE c.itemId=?1")
     List<CommentOutput> findItemComments(Long itemId);
+
+    @Query(" SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.itemId IN ?1")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemCreateResult {
+    private int index;
+    private ItemDto item;
+    private String error;
+
+    public static ItemCreateResult success(int index, ItemDto item) {
+        return new ItemCreateResult(index, item, null);
+    }
+
+    public static ItemCreateResult failure(int index, String error) {
+        return new ItemCreateResult(index, null, error);
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree of words under the Levenshtein distance. A lookup within distance k only descends into children
+ * whose edge distance lies in [d - k, d + k], so it visits a small part of the vocabulary.
+ * Words are counted; a word whose count drops to zero stays in the tree as a tombstone
+ * and is skipped by lookups until it is added again. Not thread safe.
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+
+    public void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                if (node.count++ == 0) {
+                    size++;
+                }
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(word);
+                node.children.put(distance, child);
+            }
+            node = child;
+        }
+    }
+
+    public void remove(String word) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                if (node.count > 0 && --node.count == 0) {
+                    size--;
+                }
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+
+    /**
+     * Returns the number of words with a positive count.
+     */
+    public int size() {
+        return size;
+    }
+
+    public List<Match> find(String word, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int distance = distance(word, node.word);
+            if (distance <= maxDistance && node.count > 0) {
+                matches.add(new Match(node.word, distance, node.count));
+            }
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                Node child = node.children.get(edge);
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+        return matches;
+    }
+
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Match {
+        private final String word;
+        private final int distance;
+        private final int count;
+    }
+
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>();
+        private int count;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+public class IndexedItemTextSearch implements ItemTextSearch {
+    static final int BUSY_QUERY_CHUNK = 1000;
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @Autowired
+    public IndexedItemTextSearch(ItemRepository itemRepository, BookingRepository bookingRepository) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        for (Item item : itemRepository.findAllByAvailableTrue()) {
+            index.put(item);
+        }
+        log.info("Built item search index with " + index.size() + " items");
+    }
+
+    @Override
+    public Slice<Item> findAvailableToRent(String text, LocalDateTime start, LocalDateTime end,
+                                           EntityPagination pagination) {
+        PageRequest pageable = PageRequest.of(pagination.getPage(), pagination.getSize());
+        if (start == null) {
+            return loadPage(text, index.search(text, pageable));
+        }
+        List<Long> ids = index.findIds(text);
+        Set<Long> busyIds = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += BUSY_QUERY_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BUSY_QUERY_CHUNK));
+            busyIds.addAll(bookingRepository.findItemIdsWithApprovedIntersection(chunk, start, end));
+        }
+        return loadPage(text, index.search(text, busyIds, pageable));
+    }
+
+    /**
+     * Loads the page in index order. Entries left behind by deleted or updated items are fixed in the index,
+     * and items that no longer match the text are dropped from the page.
+     */
+    private Slice<Item> loadPage(String text, Slice<Long> ids) {
+        Map<Long, Item> loadedItems = itemRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> items = new ArrayList<>();
+        for (Long id : ids) {
+            Item item = loadedItems.get(id);
+            if (item == null || !item.isAvailable()) {
+                index.remove(id);
+                continue;
+            }
+            if (!index.isCurrent(item)) {
+                index.put(item);
+                if (!index.matches(id, text)) {
+                    continue;
+                }
+            }
+            items.add(item);
+        }
+        return new SliceImpl<>(items, ids.getPageable(), ids.hasNext());
+    }
+
+    @Override
+    public void refresh(Item item) {
+        AfterCommit.run(item.isAvailable() ? () -> index.put(item) : () -> index.remove(item.getId()));
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Completes words of available item names. A word is ranked by the number of items having it in the name.
+ */
+@Slf4j
+@Component
+public class ItemNameSuggester {
+    private final ItemRepository itemRepository;
+    private final TokenTrie trie = new TokenTrie();
+    private final Map<Long, Set<String>> itemWords = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public ItemNameSuggester(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Loads all available items once on startup, which takes a full scan of the items table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        for (Item item : itemRepository.findAllByAvailableTrue()) {
+            put(item);
+        }
+        log.info("Built item name suggestions with " + trie.size() + " words");
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix).trim();
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.complete(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void refresh(Item item) {
+        AfterCommit.run(item.isAvailable() ? () -> put(item) : () -> remove(item.getId()));
+    }
+
+    public void removeAll(Collection<Long> itemIds) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long itemId : itemIds) {
+                    removeWords(itemWords.remove(itemId));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    void put(Item item) {
+        Set<String> words = ItemSearchIndex.splitWords(normalize(item.getName()));
+        lock.writeLock().lock();
+        try {
+            removeWords(itemWords.put(item.getId(), words));
+            for (String word : words) {
+                trie.add(word);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeWords(itemWords.remove(itemId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeWords(Set<String> words) {
+        if (words != null) {
+            for (String word : words) {
+                trie.remove(word);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
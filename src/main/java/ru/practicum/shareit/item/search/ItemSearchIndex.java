@@ -0,0 +1,317 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory n-gram index over names and descriptions of available items.
+ * Every substring of length 1..GRAM_LENGTH is indexed, so a match gives the same result
+ * as the case-insensitive {@code LIKE '%text%'} query of {@link ru.practicum.shareit.item.ItemRepository}.
+ * <p>
+ * Matches are ranked: items containing the text in the name go first, then items are ordered by
+ * a BM25F score of the query words over name and description, then by id.
+ * The index only picks ids; callers load the items themselves, as entries may lag behind the database.
+ */
+public class ItemSearchIndex {
+    static final int GRAM_LENGTH = 3;
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final double NAME_WEIGHT = 3.0;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<ScoredItem> RANKING = Comparator
+            .comparing((ScoredItem scored) -> !scored.nameMatch)
+            .thenComparingDouble(scored -> -scored.score)
+            .thenComparingLong(scored -> scored.indexedItem.id);
+
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long nameWords;
+    private long descriptionWords;
+
+    public void put(Item item) {
+        IndexedItem indexedItem = new IndexedItem(item);
+        lock.writeLock().lock();
+        try {
+            removeFromPostings(items.put(item.getId(), indexedItem));
+            nameWords += indexedItem.nameWords;
+            descriptionWords += indexedItem.descriptionWords;
+            for (String gram : indexedItem.grams) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeFromPostings(items.remove(itemId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true when the item is indexed with the same name and description.
+     */
+    public boolean isCurrent(Item item) {
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        lock.readLock().lock();
+        try {
+            IndexedItem indexedItem = items.get(item.getId());
+            return indexedItem != null && indexedItem.name.equals(name) && indexedItem.description.equals(description);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true when the indexed name or description of the item contains the text.
+     */
+    public boolean matches(Long itemId, String text) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            IndexedItem indexedItem = items.get(itemId);
+            return indexedItem != null && indexedItem.matches(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Slice<Long> search(String text, Pageable pageable) {
+        return search(text, Collections.emptySet(), pageable);
+    }
+
+    /**
+     * Returns a page of ids of matching items in relevance order, leaving out the excluded ids.
+     * Only the first offset + size matches are kept while ranking.
+     */
+    public Slice<Long> search(String text, Set<Long> excludedIds, Pageable pageable) {
+        String query = normalize(text);
+        int from = (int) pageable.getOffset();
+        int limit = from + pageable.getPageSize() + 1;
+        lock.readLock().lock();
+        try {
+            Set<Long> matchingIds = findMatchingIds(query);
+            Map<String, Double> idfs = getIdfs(query);
+            double avgNameWords = Math.max(1.0, (double) nameWords / Math.max(1, items.size()));
+            double avgDescriptionWords = Math.max(1.0, (double) descriptionWords / Math.max(1, items.size()));
+            PriorityQueue<ScoredItem> heap = new PriorityQueue<>(RANKING.reversed());
+            for (Long id : matchingIds) {
+                if (excludedIds.contains(id)) {
+                    continue;
+                }
+                IndexedItem indexedItem = items.get(id);
+                heap.add(new ScoredItem(indexedItem, indexedItem.name.contains(query),
+                        indexedItem.score(idfs, avgNameWords, avgDescriptionWords)));
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+            List<ScoredItem> top = new ArrayList<>(heap);
+            top.sort(RANKING);
+            List<Long> result = new ArrayList<>();
+            for (int i = from; i < Math.min(top.size(), limit - 1); i++) {
+                result.add(top.get(i).indexedItem.id);
+            }
+            return new SliceImpl<>(result, pageable, top.size() == limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of all items matching the text in ascending order.
+     */
+    public List<Long> findIds(String text) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(findMatchingIds(query));
+            Collections.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> findMatchingIds(String query) {
+        if (query.length() <= GRAM_LENGTH) {
+            return postings.getOrDefault(query, Collections.emptySet());
+        }
+        List<Set<Long>> gramPostings = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            Set<Long> ids = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            gramPostings.add(ids);
+        }
+        gramPostings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        Set<Long> result = new HashSet<>();
+        for (Long id : gramPostings.get(0)) {
+            if (containsInAll(gramPostings, id) && items.get(id).matches(query)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Weights query words by rarity. A single word query gets a constant weight as it cannot change the order.
+     */
+    private Map<String, Double> getIdfs(String query) {
+        Set<String> words = splitWords(query);
+        Map<String, Double> idfs = new HashMap<>();
+        for (String word : words) {
+            double idf = 1.0;
+            if (words.size() > 1) {
+                int df = findMatchingIds(word).size();
+                idf = Math.log(1 + (items.size() - df + 0.5) / (df + 0.5));
+            }
+            idfs.put(word, idf);
+        }
+        return idfs;
+    }
+
+    private boolean containsInAll(List<Set<Long>> gramPostings, Long id) {
+        for (int i = 1; i < gramPostings.size(); i++) {
+            if (!gramPostings.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeFromPostings(IndexedItem indexedItem) {
+        if (indexedItem == null) {
+            return;
+        }
+        Long id = indexedItem.id;
+        nameWords -= indexedItem.nameWords;
+        descriptionWords -= indexedItem.descriptionWords;
+        for (String gram : indexedItem.grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        return text.toUpperCase(Locale.ROOT);
+    }
+
+    static Set<String> splitWords(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static int countWords(String text) {
+        int count = 0;
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (!word.isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int countOccurrences(String text, String word) {
+        int count = 0;
+        for (int i = text.indexOf(word); i >= 0; i = text.indexOf(word, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static class IndexedItem {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final int nameWords;
+        private final int descriptionWords;
+        private final Set<String> grams = new HashSet<>();
+
+        IndexedItem(Item item) {
+            this.id = item.getId();
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+            this.nameWords = countWords(name);
+            this.descriptionWords = countWords(description);
+            addGrams(name);
+            addGrams(description);
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        double score(Map<String, Double> idfs, double avgNameWords, double avgDescriptionWords) {
+            double nameNorm = 1 - B + B * nameWords / avgNameWords;
+            double descriptionNorm = 1 - B + B * descriptionWords / avgDescriptionWords;
+            double score = 0;
+            for (Map.Entry<String, Double> idf : idfs.entrySet()) {
+                double tf = NAME_WEIGHT * countOccurrences(name, idf.getKey()) / nameNorm
+                        + DESCRIPTION_WEIGHT * countOccurrences(description, idf.getKey()) / descriptionNorm;
+                score += idf.getValue() * tf * (K1 + 1) / (tf + K1);
+            }
+            return score;
+        }
+
+        private void addGrams(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                for (int length = 1; length <= GRAM_LENGTH && i + length <= text.length(); length++) {
+                    grams.add(text.substring(i, i + length));
+                }
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class ScoredItem {
+        private final IndexedItem indexedItem;
+        private final boolean nameMatch;
+        private final double score;
+    }
+}
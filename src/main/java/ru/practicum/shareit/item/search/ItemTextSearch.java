@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.EntityPagination;
+
+import java.time.LocalDateTime;
+
+public interface ItemTextSearch {
+
+    /**
+     * Finds available items matching the text, items matching by name first. When start and end are given,
+     * items with an approved booking intersecting [start, end] are left out before paging.
+     */
+    Slice<Item> findAvailableToRent(String text, LocalDateTime start, LocalDateTime end, EntityPagination pagination);
+
+    default void refresh(Item item) {
+    }
+}
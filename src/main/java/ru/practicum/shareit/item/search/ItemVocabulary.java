@@ -0,0 +1,216 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Words of names and descriptions of available items, used to correct typos in search queries.
+ * Built from the database on the first correction, so the catalog is only scanned when fuzzy search is used.
+ */
+@Slf4j
+@Component
+public class ItemVocabulary {
+    static final int MIN_CORRECTED_LENGTH = 3;
+    static final int ONE_TYPO_MAX_LENGTH = 5;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Comparator<BkTree.Match> BEST_CORRECTION = Comparator
+            .comparingInt(BkTree.Match::getDistance)
+            .thenComparing(Comparator.comparingInt(BkTree.Match::getCount).reversed())
+            .thenComparing(BkTree.Match::getWord);
+
+    private final ItemRepository itemRepository;
+    private final BkTree tree = new BkTree();
+    private final Map<Long, Set<String>> itemWords = new HashMap<>();
+    private final Map<String, Integer> wordCounts = new HashMap<>();
+    private final Map<String, Set<String>> gramWords = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+
+    @Autowired
+    public ItemVocabulary(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Replaces every query word that is not a part of any known word with the closest known word.
+     * Words up to ONE_TYPO_MAX_LENGTH letters may differ by one edit, longer words by two.
+     * Words without a close match and the text between words are kept as they are.
+     */
+    public String correct(String text) {
+        buildIfNeeded();
+        String query = normalize(text);
+        StringBuilder corrected = new StringBuilder();
+        Matcher matcher = WORD.matcher(query);
+        int end = 0;
+        lock.readLock().lock();
+        try {
+            while (matcher.find()) {
+                corrected.append(query, end, matcher.start()).append(correctWord(matcher.group()));
+                end = matcher.end();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return corrected.append(query.substring(end)).toString();
+    }
+
+    public void refresh(Item item) {
+        AfterCommit.run(item.isAvailable() ? () -> put(item) : () -> remove(item.getId()));
+    }
+
+    public void removeAll(Collection<Long> itemIds) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long itemId : itemIds) {
+                    removeWords(itemWords.remove(itemId));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Loads the vocabulary under the write lock, so changes committed during the load are applied after it.
+     * Changes applied before the load are committed and thus also part of the loaded items.
+     */
+    private void buildIfNeeded() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                for (Item item : itemRepository.findAllByAvailableTrue()) {
+                    put(item);
+                }
+                built = true;
+                log.info("Built item vocabulary with " + tree.size() + " words");
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(Item item) {
+        Set<String> words = new HashSet<>(ItemSearchIndex.splitWords(normalize(item.getName())));
+        words.addAll(ItemSearchIndex.splitWords(normalize(item.getDescription())));
+        lock.writeLock().lock();
+        try {
+            removeWords(itemWords.put(item.getId(), words));
+            for (String word : words) {
+                addWord(word);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeWords(itemWords.remove(itemId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String correctWord(String word) {
+        if (word.length() < MIN_CORRECTED_LENGTH || isPartOfKnownWord(word)) {
+            return word;
+        }
+        int maxDistance = word.length() <= ONE_TYPO_MAX_LENGTH ? 1 : 2;
+        return tree.find(word, maxDistance).stream()
+                .min(BEST_CORRECTION)
+                .map(BkTree.Match::getWord)
+                .orElse(word);
+    }
+
+    private void removeWords(Set<String> words) {
+        if (words != null) {
+            for (String word : words) {
+                removeWord(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a word of at least MIN_CORRECTED_LENGTH letters occurs in some known word,
+     * looking only at known words sharing its rarest n-gram.
+     */
+    private boolean isPartOfKnownWord(String word) {
+        if (wordCounts.containsKey(word)) {
+            return true;
+        }
+        Set<String> candidates = null;
+        for (String gram : grams(word)) {
+            Set<String> words = gramWords.get(gram);
+            if (words == null) {
+                return false;
+            } else if (candidates == null || words.size() < candidates.size()) {
+                candidates = words;
+            }
+        }
+        for (String candidate : candidates) {
+            if (candidate.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addWord(String word) {
+        tree.add(word);
+        if (wordCounts.merge(word, 1, Integer::sum) == 1) {
+            for (String gram : grams(word)) {
+                gramWords.computeIfAbsent(gram, key -> new HashSet<>()).add(word);
+            }
+        }
+    }
+
+    private void removeWord(String word) {
+        tree.remove(word);
+        Integer count = wordCounts.computeIfPresent(word, (key, value) -> value == 1 ? null : value - 1);
+        if (count == null) {
+            for (String gram : grams(word)) {
+                Set<String> words = gramWords.get(gram);
+                if (words != null) {
+                    words.remove(word);
+                    if (words.isEmpty()) {
+                        gramWords.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String word) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + MIN_CORRECTED_LENGTH <= word.length(); i++) {
+            grams.add(word.substring(i, i + MIN_CORRECTED_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
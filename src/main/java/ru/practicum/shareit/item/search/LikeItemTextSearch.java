@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.EntityPagination;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "like", matchIfMissing = true)
+public class LikeItemTextSearch implements ItemTextSearch {
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public LikeItemTextSearch(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public Slice<Item> findAvailableToRent(String text, LocalDateTime start, LocalDateTime end,
+                                           EntityPagination pagination) {
+        PageRequest pageable = PageRequest.of(pagination.getPage(), pagination.getSize());
+        if (start == null) {
+            return itemRepository.findAvailableToRentByText(text, pageable);
+        }
+        return itemRepository.findAvailableToRentByTextInWindow(text, start, end, pageable);
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Compressed trie of words with the number of times each word was added.
+ * Every node keeps the highest count in its subtree, so completion of a short prefix
+ * skips branches that cannot get into the top. Not thread safe.
+ */
+public class TokenTrie {
+    private static final Comparator<Completion> BEST_FIRST = Comparator
+            .comparingInt((Completion completion) -> -completion.count)
+            .thenComparing(completion -> completion.word);
+
+    private final Node root = new Node("");
+    private int size;
+
+    public void add(String word) {
+        if (!word.isEmpty()) {
+            add(root, word);
+        }
+    }
+
+    public void remove(String word) {
+        if (!word.isEmpty()) {
+            remove(root, word);
+        }
+    }
+
+    /**
+     * Returns the number of distinct words in the trie.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns up to limit words starting with the prefix, the most frequent first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        StringBuilder path = new StringBuilder();
+        String rest = prefix;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return Collections.emptyList();
+            } else if (child.label.startsWith(rest)) {
+                rest = "";
+            } else if (rest.startsWith(child.label)) {
+                rest = rest.substring(child.label.length());
+            } else {
+                return Collections.emptyList();
+            }
+            path.append(child.label);
+            node = child;
+        }
+
+        PriorityQueue<Completion> top = new PriorityQueue<>(BEST_FIRST.reversed());
+        collect(node, path, limit, top);
+        List<Completion> completions = new ArrayList<>(top);
+        completions.sort(BEST_FIRST);
+        List<String> words = new ArrayList<>(completions.size());
+        for (Completion completion : completions) {
+            words.add(completion.word);
+        }
+        return words;
+    }
+
+    private void collect(Node node, StringBuilder path, int limit, PriorityQueue<Completion> top) {
+        if (top.size() == limit && node.maxCount < top.peek().count) {
+            return;
+        }
+        if (node.count > 0) {
+            top.add(new Completion(path.toString(), node.count));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        for (Node child : node.children.values()) {
+            int length = path.length();
+            path.append(child.label);
+            collect(child, path, limit, top);
+            path.setLength(length);
+        }
+    }
+
+    private void add(Node node, String rest) {
+        Node child = node.children.get(rest.charAt(0));
+        if (child == null) {
+            child = new Node(rest);
+            node.children.put(rest.charAt(0), child);
+        } else {
+            int common = commonPrefixLength(child.label, rest);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.maxCount = child.maxCount;
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+        }
+        String tail = rest.substring(child.label.length());
+        if (tail.isEmpty()) {
+            if (child.count++ == 0) {
+                size++;
+            }
+        } else {
+            add(child, tail);
+        }
+        child.updateMaxCount();
+    }
+
+    private void remove(Node node, String rest) {
+        Node child = node.children.get(rest.charAt(0));
+        if (child == null || !rest.startsWith(child.label)) {
+            return;
+        }
+        String tail = rest.substring(child.label.length());
+        if (tail.isEmpty()) {
+            if (child.count > 0 && --child.count == 0) {
+                size--;
+            }
+        } else {
+            remove(child, tail);
+        }
+
+        if (child.count == 0 && child.children.isEmpty()) {
+            node.children.remove(child.label.charAt(0));
+        } else if (child.count == 0 && child.children.size() == 1) {
+            Node grandchild = child.children.values().iterator().next();
+            grandchild.label = child.label + grandchild.label;
+            node.children.put(grandchild.label.charAt(0), grandchild);
+        } else {
+            child.updateMaxCount();
+        }
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private String label;
+        private int count;
+        private int maxCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void updateMaxCount() {
+            maxCount = count;
+            for (Node child : children.values()) {
+                maxCount = Math.max(maxCount, child.maxCount);
+            }
+        }
+    }
+
+    private static class Completion {
+        private final String word;
+        private final int count;
+
+        Completion(String word, int count) {
+            this.word = word;
+            this.count = count;
+        }
+    }
+}
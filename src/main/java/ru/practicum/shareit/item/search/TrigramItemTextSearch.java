@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.EntityPagination;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "trigram")
+public class TrigramItemTextSearch implements ItemTextSearch {
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public TrigramItemTextSearch(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public Slice<Item> findAvailableToRent(String text, LocalDateTime start, LocalDateTime end,
+                                           EntityPagination pagination) {
+        PageRequest pageable = PageRequest.of(pagination.getPage(), pagination.getSize());
+        if (start == null) {
+            return itemRepository.findAvailableToRentByTextTrigram(text, pageable);
+        }
+        return itemRepository.findAvailableToRentByTextTrigramInWindow(text, start, end, pageable);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes outbox events to in-process {@code @EventListener(OutboxMessage.class)} listeners.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "listener", matchIfMissing = true)
+public class ApplicationEventOutboxSink implements OutboxSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends outbox events to a local file, one JSON object per line.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "file")
+public class NdjsonFileOutboxSink implements OutboxSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NdjsonFileOutboxSink(@Value("${shareit.outbox.file.path:outbox-events.ndjson}") Path path,
+                                ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        List<String> lines = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            lines.add(toLine(message));
+        }
+        try {
+            Files.write(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write outbox events to " + path, e);
+        }
+    }
+
+    private String toLine(OutboxMessage message) {
+        try {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("id", message.getId());
+            line.put("aggregateType", message.getAggregateType());
+            line.put("aggregateId", message.getAggregateId());
+            line.put("eventType", message.getEventType());
+            line.put("created", message.getCreated().toString());
+            line.set("payload", objectMapper.readTree(message.getPayload()));
+            return objectMapper.writeValueAsString(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize outbox event " + message.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OutboxMessage {
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    private String payload;
+    private LocalDateTime created;
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreated());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves committed outbox events to the configured sinks in batches. Rows of a batch are locked while they are
+ * published and deleted in the same transaction, so several application instances do not relay the same events.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${shareit.outbox.relay.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay.delay-ms:1000}")
+    public void relayScheduled() {
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, events will be retried", e);
+        }
+    }
+
+    /**
+     * Publishes all pending events and returns their number.
+     */
+    public int relayPending() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findOldestForUpdate(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> messages = events.stream()
+                .map(OutboxMessage::of)
+                .collect(Collectors.toList());
+        for (OutboxSink sink : sinks) {
+            sink.publish(messages);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        log.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+}
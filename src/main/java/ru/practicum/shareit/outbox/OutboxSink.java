@@ -0,0 +1,11 @@
+package ru.practicum.shareit.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. Delivery is at least once: a batch is published again
+ * if the relay fails before the events are removed from the outbox.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxMessage> messages);
+}
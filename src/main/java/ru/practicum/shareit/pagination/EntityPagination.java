@@ -3,6 +3,7 @@ package ru.practicum.shareit.pagination;
 public class EntityPagination {
     private int page;
     private int size;
+    private PageCursor cursor;
 
     protected EntityPagination(int from, int size) {
         if (from < 0 || size < 1 || from % size != 0) {
@@ -16,6 +17,15 @@ public class EntityPagination {
         return new EntityPagination(from, size);
     }
 
+    public static EntityPagination of(int from, int size, String cursor) {
+        if (cursor == null) {
+            return new EntityPagination(from, size);
+        }
+        EntityPagination pagination = new EntityPagination(0, size);
+        pagination.cursor = PageCursor.decode(cursor);
+        return pagination;
+    }
+
     public int getPage() {
         return page;
     }
@@ -23,4 +33,12 @@ public class EntityPagination {
     public int getSize() {
         return size;
     }
+
+    public PageCursor getCursor() {
+        return cursor;
+    }
+
+    public boolean hasCursor() {
+        return cursor != null;
+    }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    protected PageCursor(LocalDateTime timestamp, Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Wrong pagination cursor");
+        }
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime timestamp, Long id) {
+        return new PageCursor(timestamp, id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            String timestamp = value.substring(0, separatorIndex);
+            Long id = Long.valueOf(value.substring(separatorIndex + 1));
+            return new PageCursor(timestamp.isEmpty() ? null : LocalDateTime.parse(timestamp), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Wrong pagination cursor " + token);
+        }
+    }
+
+    public String encode() {
+        String value = (timestamp == null ? "" : timestamp.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Wrong pagination cursor " + encode());
+        }
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Slice;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.function.Function;
+
+public class PaginationHeaders {
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static <T> List<T> withHeaders(HttpServletResponse response, Slice<T> slice) {
+        response.setHeader(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()));
+        return slice.getContent();
+    }
+
+    public static <T> List<T> withHeaders(HttpServletResponse response, Slice<T> slice,
+                                          Function<T, PageCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            PageCursor cursor = cursorOf.apply(content.get(content.size() - 1));
+            response.setHeader(NEXT_CURSOR_HEADER, cursor.encode());
+        }
+        return withHeaders(response, slice);
+    }
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.PaginationHeaders;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.util.List;
 
@@ -43,8 +47,12 @@ public class ItemRequestController {
     public List<ItemRequestDto> getAllRequestsOtherUsers(
             @RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "10") int size) {
-        return requestService.getOfOtherUsers(userId, EntityPagination.of(from, size));
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) {
+        Slice<ItemRequestDto> requests = requestService.getOfOtherUsers(userId,
+                EntityPagination.of(from, size, cursor));
+        return PaginationHeaders.withHeaders(response, requests, r -> PageCursor.of(r.getCreated(), r.getId()));
     }
 
 }
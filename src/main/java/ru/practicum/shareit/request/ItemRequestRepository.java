@@ -1,15 +1,22 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequesterId(Long requesterId, Sort sort);
 
-    Page<ItemRequest> findByRequesterIdNot(Long requesterId, Pageable pageable);
+    Slice<ItemRequest> findByRequesterIdNot(Long requesterId, Pageable pageable);
+
+    @Query(" SELECT r FROM ItemRequest r " +
+            "WHERE r.requesterId <> ?1 AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3))")
+    Slice<ItemRequest> findByRequesterIdNotAfterCursor(Long requesterId, LocalDateTime created, Long id,
+                                                       Pageable pageable);
 }
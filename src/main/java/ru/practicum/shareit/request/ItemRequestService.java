@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.pagination.EntityPagination;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import java.util.List;
@@ -11,5 +12,5 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getByRequester(Long userId);
 
-    List<ItemRequestDto> getOfOtherUsers(Long userId, EntityPagination pagination);
+    Slice<ItemRequestDto> getOfOtherUsers(Long userId, EntityPagination pagination);
 }
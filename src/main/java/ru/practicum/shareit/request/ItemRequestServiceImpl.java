@@ -2,9 +2,10 @@ package ru.practicum.shareit.request;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,8 +15,9 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -27,17 +29,19 @@ import java.util.stream.IntStream;
 @Service
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
-    private final UserRepository userRepository;
+    private static final Sort CREATED_DESC_SORT = Sort.by("created").descending().and(Sort.by("id").descending());
+
+    private final UserExistenceCache userExistenceCache;
 
     private final ItemRequestRepository requestRepository;
 
     private final ItemRepository itemRepository;
 
     @Autowired
-    public ItemRequestServiceImpl(UserRepository userRepository,
+    public ItemRequestServiceImpl(UserExistenceCache userExistenceCache,
                                   ItemRequestRepository requestRepository,
                                   ItemRepository itemRepository) {
-        this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
         this.requestRepository = requestRepository;
         this.itemRepository = itemRepository;
     }
@@ -76,14 +80,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getOfOtherUsers(Long userId, EntityPagination pagination) {
+    public Slice<ItemRequestDto> getOfOtherUsers(Long userId, EntityPagination pagination) {
         throwIfUserNotFound(userId);
 
-        Pageable sortPage = PageRequest.of(pagination.getPage(), pagination.getSize(), Sort.by("created").descending());
-        Page<ItemRequest> page = requestRepository.findByRequesterIdNot(userId, sortPage);
+        Slice<ItemRequest> page;
+        if (pagination.hasCursor()) {
+            PageCursor cursor = pagination.getCursor();
+            Pageable sortPage = PageRequest.of(0, pagination.getSize(), CREATED_DESC_SORT);
+            page = requestRepository.findByRequesterIdNotAfterCursor(userId, cursor.getTimestamp(), cursor.getId(),
+                    sortPage);
+        } else {
+            Pageable sortPage = PageRequest.of(pagination.getPage(), pagination.getSize(), CREATED_DESC_SORT);
+            page = requestRepository.findByRequesterIdNot(userId, sortPage);
+        }
         List<ItemRequestDto> dtos = ItemRequestMapper.mapToRequestDto(page.getContent());
         fillRequestsDtoWithItemsData(dtos);
-        return dtos;
+        return new SliceImpl<>(dtos, page.getPageable(), page.hasNext());
     }
 
     private void fillRequestsDtoWithItemsData(List<ItemRequestDto> dtos) {
@@ -100,7 +112,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private void throwIfUserNotFound(Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException(User.class, userId));
+        if (!userExistenceCache.exists(userId)) {
+            throw new EntityNotFoundException(User.class, userId);
+        }
     }
 
 }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.transaction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by hash of the key, so work on different keys rarely waits.
+ * A lock is held until the current transaction completes, after-commit actions run under it.
+ */
+@Component
+public class StripedLocks {
+    private final ReentrantLock[] stripes;
+
+    @Autowired
+    public StripedLocks(@Value("${shareit.transaction.lock-stripes:64}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Wrong lock stripes count " + stripeCount);
+        }
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Object key) {
+        lockStripeUntilCompletion(stripeOf(key));
+    }
+
+    /**
+     * Stripes are taken in ascending order, so two transactions locking overlapping key sets can't deadlock.
+     */
+    public void lockAllUntilCompletion(Collection<?> keys) {
+        SortedSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Object key : keys) {
+            stripeIndexes.add(stripeOf(key));
+        }
+        for (Integer stripeIndex : stripeIndexes) {
+            lockStripeUntilCompletion(stripeIndex);
+        }
+    }
+
+    int stripeOf(Object key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private void lockStripeUntilCompletion(int stripeIndex) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Lock requires an active transaction");
+        }
+        ReentrantLock lock = stripes[stripeIndex];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
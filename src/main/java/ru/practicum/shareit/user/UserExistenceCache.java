@@ -0,0 +1,77 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.BoundedCache;
+import ru.practicum.shareit.cache.CacheRegistry;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.time.Duration;
+
+/**
+ * Answers whether a user exists without a query for recently seen ids.
+ * Unknown ids are remembered only briefly, so a user created elsewhere becomes visible quickly.
+ * An answer is only stored when the user was not created or deleted while it was being queried.
+ */
+@Component
+public class UserExistenceCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final UserRepository userRepository;
+    private final BoundedCache<Long, Boolean> existing;
+    private final BoundedCache<Long, Boolean> missing;
+
+    @Autowired
+    public UserExistenceCache(UserRepository userRepository,
+                              CacheRegistry cacheRegistry,
+                              @Value("${shareit.cache.user.max-size:10000}") int maxSize,
+                              @Value("${shareit.cache.user.ttl:10m}") Duration ttl,
+                              @Value("${shareit.cache.user.missing-ttl:5s}") Duration missingTtl) {
+        this.userRepository = userRepository;
+        this.existing = cacheRegistry.create("user-existing", maxSize, ttl);
+        this.missing = cacheRegistry.create("user-missing", maxSize, missingTtl);
+    }
+
+    public boolean exists(Long userId) {
+        if (existing.get(userId) != null) {
+            return true;
+        } else if (missing.get(userId) != null) {
+            return false;
+        }
+        long token = readToken(userId);
+        boolean exists = userRepository.existsById(userId);
+        put(exists ? existing : missing, userId, token);
+        return exists;
+    }
+
+    public void created(Long userId) {
+        evict(missing, userId);
+        AfterCommit.run(() -> evict(missing, userId));
+    }
+
+    public void deleted(Long userId) {
+        evict(existing, userId);
+        AfterCommit.run(() -> evict(existing, userId));
+    }
+
+    private synchronized long readToken(Long userId) {
+        return generations[stripe(userId)];
+    }
+
+    private synchronized void put(BoundedCache<Long, Boolean> cache, Long userId, long token) {
+        if (generations[stripe(userId)] == token) {
+            cache.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private synchronized void evict(BoundedCache<Long, Boolean> cache, Long userId) {
+        generations[stripe(userId)]++;
+        cache.invalidate(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+}
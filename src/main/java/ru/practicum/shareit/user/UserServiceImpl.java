@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -15,10 +17,19 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemService itemService;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository,
+                           UserExistenceCache userExistenceCache,
+                           ItemDetailsCache itemDetailsCache,
+                           ItemService itemService) {
         this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.itemDetailsCache = itemDetailsCache;
+        this.itemService = itemService;
     }
 
     @Override
@@ -39,7 +50,8 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public UserDto create(UserDto userDto) {
-        User user = userRepository.save(UserMapper.mapToUser(userDto));
+        User user = userRepository.saveAndFlush(UserMapper.mapToUser(userDto));
+        userExistenceCache.created(user.getId());
         log.info("Created " + user);
 
         return UserMapper.mapToUserDto(user);
@@ -58,7 +70,7 @@ public class UserServiceImpl implements UserService {
             databaseUserDto.setEmail(userDto.getEmail());
         }
 
-        User user = userRepository.save(UserMapper.mapToUser(databaseUserDto));
+        User user = userRepository.saveAndFlush(UserMapper.mapToUser(databaseUserDto));
         log.info("Updated " + user);
 
         return UserMapper.mapToUserDto(user);
@@ -67,7 +79,10 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public void delete(Long id) {
+        itemService.evictOwnerItems(id);
         userRepository.deleteById(id);
+        userExistenceCache.deleted(id);
+        itemDetailsCache.invalidateAll();
         log.info("Deleted user id=" + id);
     }
 }
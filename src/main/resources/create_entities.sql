@@ -7,8 +7,15 @@ VALUES (1, 'Лопата', 'Для огорода', TRUE, 1),
        (2, 'Инструмент', 'Можно копать как лопатой', FALSE, 1),
        (3, 'Набор для хозяйства', 'Лопата, грабли, тачка и др.', TRUE, 1);
 
-MERGE INTO bookings (id, start_date, end_date, item_id, booker_id, status)
-VALUES (1, '2022-11-20 16:00:00', '2022-11-22 18:00:00', 1, 2, 'APPROVED'),
-       (2, '2022-12-03 16:00:00', '2022-12-08 19:00:00', 1, 2, 'WAITING'),
-       (3, '2022-12-03 15:00:00', '2022-12-08 14:00:00', 3, 2, 'REJECTED'),
-       (4, '2022-12-14 15:00:00', '2022-12-16 15:00:00', 3, 2, 'APPROVED');
\ No newline at end of file
+MERGE INTO bookings (id, start_date, end_date, item_id, booker_id, owner_id, status)
+VALUES (1, '2022-11-20 16:00:00', '2022-11-22 18:00:00', 1, 2, 1, 'APPROVED'),
+       (2, '2022-12-03 16:00:00', '2022-12-08 19:00:00', 1, 2, 1, 'WAITING'),
+       (3, '2022-12-03 15:00:00', '2022-12-08 14:00:00', 3, 2, 1, 'REJECTED'),
+       (4, '2022-12-14 15:00:00', '2022-12-16 15:00:00', 3, 2, 1, 'APPROVED');
+
+-- Generated ids start past the explicit ids above. Does not commit the test transaction in H2.
+ALTER SEQUENCE users_seq RESTART WITH 101;
+
+ALTER SEQUENCE items_seq RESTART WITH 101;
+
+ALTER SEQUENCE bookings_seq RESTART WITH 101;
@@ -0,0 +1,53 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm
+    ON items USING gin (name gin_trgm_ops) WHERE available = TRUE;
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm
+    ON items USING gin (description gin_trgm_ops) WHERE available = TRUE;
+
+DO '
+BEGIN
+    ALTER TABLE bookings ADD CONSTRAINT bookings_owner_id_fkey
+        FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE;
+EXCEPTION
+    WHEN duplicate_object THEN NULL;
+END;
+';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_approved_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, ''[]'') WITH &&)
+        WHERE (status = ''APPROVED'');
+EXCEPTION
+    WHEN duplicate_object OR duplicate_table THEN NULL;
+END;
+';
+
+-- Moves id sequences past rows inserted before ids were taken from them (identity columns).
+SELECT setval('users_seq', (SELECT MAX(id) + 1 FROM users), false)
+FROM users_seq
+WHERE (SELECT MAX(id) FROM users) >= CASE WHEN is_called THEN last_value + 50 ELSE last_value END;
+
+SELECT setval('requests_seq', (SELECT MAX(id) + 1 FROM requests), false)
+FROM requests_seq
+WHERE (SELECT MAX(id) FROM requests) >= CASE WHEN is_called THEN last_value + 50 ELSE last_value END;
+
+SELECT setval('items_seq', (SELECT MAX(id) + 1 FROM items), false)
+FROM items_seq
+WHERE (SELECT MAX(id) FROM items) >= CASE WHEN is_called THEN last_value + 50 ELSE last_value END;
+
+SELECT setval('bookings_seq', (SELECT MAX(id) + 1 FROM bookings), false)
+FROM bookings_seq
+WHERE (SELECT MAX(id) FROM bookings) >= CASE WHEN is_called THEN last_value + 50 ELSE last_value END;
+
+SELECT setval('comments_seq', (SELECT MAX(id) + 1 FROM comments), false)
+FROM comments_seq
+WHERE (SELECT MAX(id) FROM comments) >= CASE WHEN is_called THEN last_value + 50 ELSE last_value END;
+
+SELECT setval('outbox_events_seq', (SELECT MAX(id) + 1 FROM outbox_events), false)
+FROM outbox_events_seq
+WHERE (SELECT MAX(id) FROM outbox_events) >= CASE WHEN is_called THEN last_value + 50 ELSE last_value END;
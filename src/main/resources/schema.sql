@@ -27,13 +27,57 @@ CREATE TABLE IF NOT EXISTS bookings (
     end_date    TIMESTAMP       NOT NULL,
     item_id     BIGINT          NOT NULL    REFERENCES items (id) ON DELETE CASCADE,
     booker_id   BIGINT          NOT NULL    REFERENCES users (id) ON DELETE CASCADE,
+    owner_id    BIGINT          NOT NULL    REFERENCES users (id) ON DELETE CASCADE,
     status      VARCHAR(20)     NOT NULL
 );
 
+-- Databases created before bookings kept the item owner get the column filled from items.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id)
+WHERE owner_id IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
 CREATE TABLE IF NOT EXISTS comments (
     id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     text        TEXT            NOT NULL,
     item_id     BIGINT          NOT NULL    REFERENCES items (id) ON DELETE CASCADE,
     author_id   BIGINT          NOT NULL    REFERENCES users (id) ON DELETE CASCADE,
     created     TIMESTAMP       NOT NULL
-);
\ No newline at end of file
+);
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type  VARCHAR(50)     NOT NULL,
+    aggregate_id    BIGINT          NOT NULL,
+    event_type      VARCHAR(50)     NOT NULL,
+    payload         TEXT            NOT NULL,
+    created         TIMESTAMP       NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,227 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingFilter;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.QueryBookingState;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static ru.practicum.shareit.booking.BookingSpecifications.byBooker;
+import static ru.practicum.shareit.booking.BookingSpecifications.byOwner;
+import static ru.practicum.shareit.booking.BookingSpecifications.matching;
+
+/**
+ * Runs EXPLAIN for the SQL of repository queries on a seeded dataset and fails on a full table scan.
+ * Not covered on purpose: text search and the search index load (substring match scans available items),
+ * requests of other users (requester_id <> ?) and plain findAll.
+ */
+@Transactional
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.QueryPlanTest$RecordingStatementInspector")
+public class QueryPlanTest {
+    private static final int USERS = 50;
+    private static final int REQUESTS = 100;
+    private static final int ITEMS = 200;
+    private static final int BOOKINGS = 3000;
+    private static final int COMMENTS = 400;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "User" + id, "user" + id + "@mail.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (long id = 1; id <= REQUESTS; id++) {
+            requests.add(new Object[]{id, "Request" + id, userOf(id), now.minusHours(id)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requester_id, created) VALUES (?, ?, ?, ?)",
+                requests);
+
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, "Item" + id, "Description" + id, id % 3 != 0, userOf(id),
+                    id % 4 == 0 ? id % REQUESTS + 1 : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", items);
+
+        List<Object[]> bookings = new ArrayList<>();
+        BookingStatus[] statuses = BookingStatus.values();
+        for (long id = 1; id <= BOOKINGS; id++) {
+            LocalDateTime start = now.plusHours(id - BOOKINGS / 2);
+            long itemId = id % ITEMS + 1;
+            bookings.add(new Object[]{id, start, start.plusHours(id % 48 + 1), itemId, userOf(id * 7),
+                    userOf(itemId), statuses[(int) (id % statuses.length)].name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings "
+                + "(id, start_date, end_date, item_id, booker_id, owner_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (long id = 1; id <= COMMENTS; id++) {
+            comments.add(new Object[]{id, "Comment" + id, id % ITEMS + 1, userOf(id * 3), now.minusDays(id)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) "
+                + "VALUES (?, ?, ?, ?, ?)", comments);
+    }
+
+    @Test
+    void bookerBookingQueriesShouldUseIndexes() {
+        for (QueryBookingState state : QueryBookingState.values()) {
+            Specification<Booking> specification = byBooker(2L).and(matching(BookingFilter.of(state), now));
+            assertUsesIndexes(() -> bookingRepository.findSlice(specification, EntityPagination.of(0, 10)));
+        }
+        assertUsesIndexes(() -> bookingRepository.findSlice(byBooker(2L).and(matching(fullFilter(), now)),
+                EntityPagination.of(0, 10)));
+        assertUsesIndexes(() -> bookingRepository.findSlice(byBooker(2L),
+                EntityPagination.of(0, 10, PageCursor.of(now, 100L).encode())));
+    }
+
+    @Test
+    void ownerBookingQueriesShouldUseIndexes() {
+        for (QueryBookingState state : QueryBookingState.values()) {
+            Specification<Booking> specification = byOwner(1L).and(matching(BookingFilter.of(state), now));
+            assertUsesIndexes(() -> bookingRepository.findSlice(specification, EntityPagination.of(0, 10)));
+        }
+        assertUsesIndexes(() -> bookingRepository.findSlice(byOwner(1L).and(matching(fullFilter(), now)),
+                EntityPagination.of(0, 10)));
+        assertUsesIndexes(() -> bookingRepository.findSlice(byOwner(1L),
+                EntityPagination.of(0, 10, PageCursor.of(now.plusDays(1), 100L).encode())));
+    }
+
+    @Test
+    void itemBookingQueriesShouldUseIndexes() {
+        List<Long> itemIds = List.of(1L, 2L, 3L);
+        assertUsesIndexes(() -> bookingRepository.findApprovedIntersection(1L, now, now.plusDays(1)));
+        assertUsesIndexes(() -> bookingRepository.findApprovedIntervals(1L, now));
+        assertUsesIndexes(() -> bookingRepository.findApprovedIntervalsBetween(1L, now, now.plusDays(30)));
+        assertUsesIndexes(() -> bookingRepository.updateStatusOfWaiting(1L, 1L, BookingStatus.REJECTED));
+        assertUsesIndexes(() -> bookingRepository.findLastBookings(1L, now));
+        assertUsesIndexes(() -> bookingRepository.findNextBookings(1L, now));
+        assertUsesIndexes(() -> bookingRepository.findLastBookingsOfItems(itemIds, now));
+        assertUsesIndexes(() -> bookingRepository.findNextBookingsOfItems(itemIds, now));
+        assertUsesIndexes(() -> bookingRepository.findItemIdsWithApprovedIntersection(itemIds, now, now.plusDays(1)));
+        assertUsesIndexes(() -> bookingRepository.findExpiredApprovedBookings(1L, 2L, now));
+    }
+
+    @Test
+    void itemCommentAndRequestQueriesShouldUseIndexes() {
+        assertUsesIndexes(() -> itemRepository.findAllByOwnerId(1L, PageRequest.of(0, 10, Sort.by("id"))));
+        assertUsesIndexes(() -> itemRepository.findAllByOwnerIdAndIdGreaterThan(1L, 50L,
+                PageRequest.of(0, 10, Sort.by("id"))));
+        assertUsesIndexes(() -> itemRepository.findByIdAndOwnerId(1L, 2L));
+        assertUsesIndexes(() -> itemRepository.findByIdForUpdate(1L));
+        assertUsesIndexes(() -> itemRepository.findAllByRequestId(4L));
+        assertUsesIndexes(() -> itemRepository.findAllByRequestIdIn(List.of(4L, 8L, 12L)));
+        assertUsesIndexes(() -> commentRepository.findItemComments(1L));
+        assertUsesIndexes(() -> commentRepository.findAllByItemIdIn(List.of(1L, 2L, 3L)));
+        assertUsesIndexes(() -> requestRepository.findAllByRequesterId(1L, Sort.by("created").descending()));
+    }
+
+    private void assertUsesIndexes(Runnable query) {
+        RecordingStatementInspector.clear();
+        query.run();
+        List<String> statements = RecordingStatementInspector.statements();
+        assertFalse(statements.isEmpty(), "Query did not reach the database");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), () -> "Full scan in plan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setObject(i, null);
+            }
+            return statement;
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    private BookingFilter fullFilter() {
+        BookingFilter filter = BookingFilter.of(QueryBookingState.ALL);
+        filter.setItemId(1L);
+        filter.setStatuses(Set.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        filter.setRangeStart(now.minusDays(10));
+        filter.setRangeEnd(now.plusDays(10));
+        return filter;
+    }
+
+    private static long userOf(long number) {
+        return number % USERS + 1;
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> statements() {
+            synchronized (STATEMENTS) {
+                return new ArrayList<>(STATEMENTS);
+            }
+        }
+    }
+}
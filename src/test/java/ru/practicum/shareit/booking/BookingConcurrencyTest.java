@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChange;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(properties = "db.test.name=concurrency",
+                webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    private Long ownerId;
+    private Long itemId;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+    private final LocalDateTime end = start.plusDays(2);
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser();
+        itemId = itemService.create(ownerId, new ItemDto(null, "Лопата", "Для огорода", true)).getId();
+    }
+
+    @Test
+    void shouldApproveOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long bookerId = createUser();
+            BookingDto bookingDto = new BookingDto(null, itemId, start.plusHours(i), end.plusHours(i));
+            bookingIds.add(bookingService.create(bookerId, bookingDto).getId());
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            tasks.add(() -> approve(bookingId));
+        }
+        int approvedCount = countSuccess(runConcurrently(tasks));
+
+        Assertions.assertEquals(1, approvedCount);
+        Assertions.assertEquals(1, bookingRepository.findApprovedIntersection(itemId, start, end.plusHours(THREADS))
+                .size());
+    }
+
+    @Test
+    void shouldNotApproveOverlappingBookingsUnderCreateAndApproveContention() throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long bookerId = createUser();
+            BookingDto bookingDto = new BookingDto(null, itemId, start.plusHours(i), end.plusHours(i));
+            tasks.add(() -> {
+                try {
+                    return approve(bookingService.create(bookerId, bookingDto).getId());
+                } catch (BadRequestException e) {
+                    return false;
+                }
+            });
+        }
+        int approvedCount = countSuccess(runConcurrently(tasks));
+
+        Assertions.assertEquals(1, approvedCount);
+        Assertions.assertEquals(1, bookingRepository.findApprovedIntersection(itemId, start, end.plusHours(THREADS))
+                .size());
+    }
+
+    @Test
+    void shouldApproveConcurrentBookingsOfDifferentItems() throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long otherItemId = itemService.create(ownerId, new ItemDto(null, "Грабли", "Для огорода", true)).getId();
+            Long bookerId = createUser();
+            Long bookingId = bookingService.create(bookerId, new BookingDto(null, otherItemId, start, end)).getId();
+            tasks.add(() -> approve(bookingId));
+        }
+
+        Assertions.assertEquals(THREADS, countSuccess(runConcurrently(tasks)));
+    }
+
+    @Test
+    void shouldApproveNonOverlappingBookingsInBulk() {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long bookerId = createUser();
+            BookingDto bookingDto = new BookingDto(null, itemId, start.plusHours(i), end.plusHours(i));
+            bookingIds.add(bookingService.create(bookerId, bookingDto).getId());
+        }
+        Long bookerId = createUser();
+        bookingIds.add(bookingService.create(bookerId,
+                new BookingDto(null, itemId, end.plusDays(1), end.plusDays(2))).getId());
+
+        List<BookingStatusResult> results = bookingService.changeStatuses(ownerId, List.of(
+                new BookingStatusChange(bookingIds.get(0), true),
+                new BookingStatusChange(bookingIds.get(1), true),
+                new BookingStatusChange(bookingIds.get(2), false),
+                new BookingStatusChange(bookingIds.get(3), true)));
+
+        Assertions.assertEquals(List.of(
+                BookingStatusResult.success(bookingIds.get(0), BookingStatus.APPROVED),
+                BookingStatusResult.failure(bookingIds.get(1), "Intersection with approved bookings"),
+                BookingStatusResult.success(bookingIds.get(2), BookingStatus.REJECTED),
+                BookingStatusResult.success(bookingIds.get(3), BookingStatus.APPROVED)), results);
+        Assertions.assertEquals(BookingStatus.REJECTED, bookingService.get(ownerId, bookingIds.get(2)).getStatus());
+        Assertions.assertEquals(BookingStatus.WAITING, bookingService.get(ownerId, bookingIds.get(1)).getStatus());
+    }
+
+    private boolean approve(Long bookingId) {
+        try {
+            bookingService.changeStatus(ownerId, bookingId, true);
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        }
+    }
+
+    private List<Future<Boolean>> runConcurrently(List<Callable<Boolean>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> task : tasks) {
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                return task.call();
+            }));
+        }
+        startSignal.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        return results;
+    }
+
+    private int countSuccess(List<Future<Boolean>> results) throws ExecutionException, InterruptedException {
+        int count = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Long createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userService.create(new UserDto(null, "User" + number, "user" + number + "@mail.com")).getId();
+    }
+}
@@ -6,21 +6,33 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.booking.dto.BookingStatusChange;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.PaginationHeaders;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +42,9 @@ public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingExportService bookingExportService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -92,6 +107,30 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldChangeBookingStatusesInBulk() throws Exception {
+        List<BookingStatusChange> changes = List.of(new BookingStatusChange(1L, true),
+                new BookingStatusChange(2L, false));
+        when(bookingService.changeStatuses(anyLong(), any()))
+                .thenReturn(List.of(BookingStatusResult.success(1L, BookingStatus.APPROVED),
+                        BookingStatusResult.failure(2L, "Can't change booking status")));
+
+        mockMvc.perform(patch("/bookings")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .content(mapper.writeValueAsString(changes))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].bookingId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].bookingId", is(2L), Long.class))
+                .andExpect(jsonPath("$[1].error", is("Can't change booking status")));
+        verify(bookingService).changeStatuses(1L, changes);
+    }
+
     @Test
     void shouldReturnBooking() throws Exception {
         when(bookingService.get(anyLong(), anyLong()))
@@ -135,13 +174,15 @@ public class BookingControllerTest {
     @Test
     void shouldReturnBookerBookings() throws Exception {
         when(bookingService.getByBooker(anyLong(), any(), any()))
-                .thenReturn(List.of(bookingOutput));
+                .thenReturn(new SliceImpl<>(List.of(bookingOutput)));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", bookerId)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PaginationHeaders.HAS_NEXT_HEADER, "false"))
+                .andExpect(header().doesNotExist(PaginationHeaders.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(bookingOutput.getId()), Long.class))
                 .andExpect(jsonPath("$[0].start", is(bookingOutput.getStart().toString())))
@@ -152,6 +193,91 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].item.name", is(bookingOutput.getItem().getName())));
     }
 
+    @Test
+    void shouldReturnNextCursorWhenHasNextPage() throws Exception {
+        when(bookingService.getByBooker(anyLong(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingOutput), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PaginationHeaders.HAS_NEXT_HEADER, "true"))
+                .andExpect(header().string(PaginationHeaders.NEXT_CURSOR_HEADER,
+                        PageCursor.of(bookingOutput.getStart(), bookingOutput.getId()).encode()));
+    }
+
+    @Test
+    void shouldExportOwnerBookingsAsCsv() throws Exception {
+        doAnswer(invocation -> {
+            BookingExportService.Target target = invocation.getArgument(2);
+            target.open().write("id,start\n");
+            return null;
+        }).when(bookingExportService).exportByOwner(anyLong(), any(), any());
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string("id,start\n"));
+        verify(bookingExportService).exportByOwner(eq(1L), eq(BookingExportFormat.CSV), any());
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("cursor", "not-a-cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldPassFiltersToService() throws Exception {
+        when(bookingService.getByOwnerItems(anyLong(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingOutput)));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("itemId", "2")
+                        .param("statuses", "waiting", "APPROVED")
+                        .param("rangeStart", "2030-01-01T00:00:00")
+                        .param("rangeEnd", "2030-02-01T00:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        BookingFilter expectedFilter = BookingFilter.of(QueryBookingState.ALL);
+        expectedFilter.setItemId(2L);
+        expectedFilter.setStatuses(Set.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        expectedFilter.setRangeStart(LocalDateTime.of(2030, 1, 1, 0, 0));
+        expectedFilter.setRangeEnd(LocalDateTime.of(2030, 2, 1, 0, 0));
+        verify(bookingService).getByOwnerItems(eq(1L), eq(expectedFilter), any());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenGetBookingsWithUnknownStatus() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("statuses", "LOL")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnBadRequestWhenGetBookingsWithUnknownState() throws Exception {
         when(bookingService.getByBooker(anyLong(), any(), any()))
@@ -168,13 +294,15 @@ public class BookingControllerTest {
     @Test
     void shouldReturnBookingsOfOwnerItems() throws Exception {
         when(bookingService.getByOwnerItems(anyLong(), any(), any()))
-                .thenReturn(List.of(bookingOutput));
+                .thenReturn(new SliceImpl<>(List.of(bookingOutput)));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", ownerId)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PaginationHeaders.HAS_NEXT_HEADER, "false"))
+                .andExpect(header().doesNotExist(PaginationHeaders.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(bookingOutput.getId()), Long.class))
                 .andExpect(jsonPath("$[0].start", is(bookingOutput.getStart().toString())))
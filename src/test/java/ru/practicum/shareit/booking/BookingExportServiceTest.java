@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Transactional
+@SpringBootTest(properties = "db.test.name=export",
+                webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Sql("/create_entities.sql")
+public class BookingExportServiceTest {
+    private final BookingExportService bookingExportService;
+    private final ObjectMapper objectMapper;
+    private final Long ownerId = 1L;
+
+    @Test
+    void shouldExportOwnerBookingsAsNdjson() throws Exception {
+        StringWriter writer = new StringWriter();
+        bookingExportService.exportByOwner(ownerId, BookingExportFormat.NDJSON, () -> writer);
+
+        List<String> lines = writer.toString().lines().collect(Collectors.toList());
+        Assertions.assertEquals(4, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        Assertions.assertEquals(4L, first.get("id").asLong());
+        Assertions.assertEquals(3L, first.get("item").get("id").asLong());
+        Assertions.assertEquals(2L, first.get("booker").get("id").asLong());
+    }
+
+    @Test
+    void shouldExportOwnerBookingsAsCsv() throws Exception {
+        StringWriter writer = new StringWriter();
+        bookingExportService.exportByOwner(ownerId, BookingExportFormat.CSV, () -> writer);
+
+        String[] lines = writer.toString().split("\n");
+        Assertions.assertEquals(5, lines.length);
+        Assertions.assertEquals(BookingExportServiceImpl.CSV_HEADER.trim(), lines[0]);
+        Assertions.assertEquals("4,2022-12-14T15:00,2022-12-16T15:00,APPROVED,3,Набор для хозяйства,2,Master",
+                lines[1]);
+        Assertions.assertTrue(lines[4].startsWith("1,"));
+    }
+
+    @Test
+    void shouldNotOpenTargetWhenOwnerNotFound() {
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> bookingExportService.exportByOwner(99L, BookingExportFormat.CSV, () -> {
+                    throw new AssertionError("Target must not be opened");
+                }));
+    }
+
+    @Test
+    void shouldEscapeCsvValues() {
+        Assertions.assertEquals("Лопата", BookingExportServiceImpl.escapeCsv("Лопата"));
+        Assertions.assertEquals("\"Лопата, грабли\"", BookingExportServiceImpl.escapeCsv("Лопата, грабли"));
+        Assertions.assertEquals("\"Лопата \"\"Мастер\"\"\"", BookingExportServiceImpl.escapeCsv("Лопата \"Мастер\""));
+    }
+}
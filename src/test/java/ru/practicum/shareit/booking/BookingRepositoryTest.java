@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Transactional
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@DataJpaTest
+public class BookingRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private User booker;
+    private Item item1;
+    private Item item2;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Tester");
+        owner.setEmail("owner@mail.com");
+        owner = userRepository.save(owner);
+
+        booker = new User();
+        booker.setName("Master");
+        booker.setEmail("booker@mail.com");
+        booker = userRepository.save(booker);
+
+        item1 = createItem("Лопата", owner);
+        item2 = createItem("Грабли", owner);
+    }
+
+    @Test
+    void shouldFindLastAndNextBookingsOfItems() {
+        createBooking(item1, now.minusDays(10), now.minusDays(9), BookingStatus.APPROVED);
+        Booking lastOfItem1 = createBooking(item1, now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED);
+        createBooking(item1, now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED);
+        Booking nextOfItem1 = createBooking(item1, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        createBooking(item1, now.plusDays(5), now.plusDays(6), BookingStatus.APPROVED);
+        Booking lastOfItem2 = createBooking(item2, now.minusHours(1), now.plusHours(1), BookingStatus.APPROVED);
+        createBooking(item2, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+
+        List<Long> itemIds = List.of(item1.getId(), item2.getId());
+        Map<Long, Long> lastBookings = bookingRepository.findLastBookingsOfItems(itemIds, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Booking::getId));
+        Map<Long, Long> nextBookings = bookingRepository.findNextBookingsOfItems(itemIds, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Booking::getId));
+
+        Assertions.assertEquals(Map.of(item1.getId(), lastOfItem1.getId(), item2.getId(), lastOfItem2.getId()),
+                lastBookings);
+        Assertions.assertEquals(Map.of(item1.getId(), nextOfItem1.getId()), nextBookings);
+    }
+
+    private Item createItem(String name, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Для огорода");
+        item.setAvailable(true);
+        item.setOwnerId(owner.getId());
+        return itemRepository.save(item);
+    }
+
+    private Booking createBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setOwnerId(item.getOwnerId());
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
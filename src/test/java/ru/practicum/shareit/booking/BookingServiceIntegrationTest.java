@@ -10,8 +10,12 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingOutput;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Transactional
 @Rollback(false)
@@ -26,97 +30,151 @@ public class BookingServiceIntegrationTest {
 
     @Test
     void shouldFindAllRequesterBookings() {
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, QueryBookingState.ALL,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(4, bookingOutputs.size());
     }
 
     @Test
     void shouldFindPastRequesterBookings() {
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, QueryBookingState.PAST,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.PAST), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindCurrentRequesterBookings() {
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, QueryBookingState.CURRENT,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.CURRENT), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(2, bookingOutputs.size());
     }
 
     @Test
     void shouldFindFutureRequesterBookings() {
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, QueryBookingState.FUTURE,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.FUTURE), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindWaitingRequesterBookings() {
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, QueryBookingState.WAITING,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.WAITING), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindRejectedRequesterBookings() {
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, QueryBookingState.REJECTED,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.REJECTED), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindAllBookingsOfOwnerItems() {
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, QueryBookingState.ALL,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(4, bookingOutputs.size());
     }
 
     @Test
     void shouldFindPastBookingsOfOwnerItems() {
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, QueryBookingState.PAST,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.PAST), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindCurrentBookingsOfOwnerItems() {
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, QueryBookingState.CURRENT,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.CURRENT), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(2, bookingOutputs.size());
     }
 
     @Test
     void shouldFindFutureBookingsOfOwnerItems() {
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, QueryBookingState.FUTURE,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.FUTURE), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindWaitingBookingsOfOwnerItems() {
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, QueryBookingState.WAITING,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.WAITING), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
 
     @Test
     void shouldFindRejectedBookingsOfOwnerItems() {
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, QueryBookingState.REJECTED,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.REJECTED), EntityPagination.of(0, 10)).getContent();
 
         Assertions.assertEquals(1, bookingOutputs.size());
     }
+
+    @Test
+    void shouldFindOwnerBookingsOfItem() {
+        BookingFilter filter = BookingFilter.of(QueryBookingState.ALL);
+        filter.setItemId(3L);
+
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, filter,
+                EntityPagination.of(0, 10)).getContent();
+
+        Assertions.assertEquals(List.of(4L, 3L), bookingOutputs.stream().map(BookingOutput::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldFindBookerBookingsWithAnyOfStatuses() {
+        BookingFilter filter = BookingFilter.of(QueryBookingState.ALL);
+        filter.setStatuses(Set.of(BookingStatus.WAITING, BookingStatus.REJECTED));
+
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(bookerId, filter,
+                EntityPagination.of(0, 10)).getContent();
+
+        Assertions.assertEquals(Set.of(2L, 3L), bookingOutputs.stream().map(BookingOutput::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldFindBookingsOverlappingDateRangeOfItemWithStatus() {
+        BookingFilter filter = BookingFilter.of(QueryBookingState.ALL);
+        filter.setItemId(1L);
+        filter.setStatuses(Set.of(BookingStatus.WAITING));
+        filter.setRangeStart(LocalDateTime.of(2022, 12, 1, 0, 0));
+        filter.setRangeEnd(LocalDateTime.of(2022, 12, 10, 0, 0));
+
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(ownerId, filter,
+                EntityPagination.of(0, 10)).getContent();
+
+        Assertions.assertEquals(1, bookingOutputs.size());
+        Assertions.assertEquals(2L, bookingOutputs.get(0).getId());
+    }
+
+    @Test
+    void shouldContinueOwnerBookingsFromCursor() {
+        List<BookingOutput> firstPage = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 2)).getContent();
+        BookingOutput last = firstPage.get(firstPage.size() - 1);
+        String cursor = PageCursor.of(last.getStart(), last.getId()).encode();
+
+        List<BookingOutput> nextPage = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 2, cursor)).getContent();
+        List<BookingOutput> offsetPage = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(2, 2)).getContent();
+
+        Assertions.assertEquals(offsetPage, nextPage);
+    }
 }
@@ -5,26 +5,39 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEvent;
 import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.booking.dto.BookingStatusChange;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.interval.ApprovedBookingIndex;
+import ru.practicum.shareit.booking.interval.BookingInterval;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.transaction.StripedLocks;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +52,24 @@ public class BookingServiceTest {
     @Mock
     private ItemRepository mockItemRepository;
 
+    @Mock
+    private ItemDetailsCache mockItemDetailsCache;
+
+    @Mock
+    private ItemAvailabilityCache mockItemAvailabilityCache;
+
+    @Mock
+    private ApprovedBookingIndex mockApprovedBookingIndex;
+
+    @Mock
+    private StripedLocks mockItemLocks;
+
+    @Mock
+    private Outbox mockOutbox;
+
+    @Mock
+    private UserExistenceCache mockUserExistenceCache;
+
     private BookingService bookingService;
     private User booker;
     private Item item;
@@ -50,7 +81,14 @@ public class BookingServiceTest {
         bookingService = new BookingServiceImpl(
                 mockBookingRepository,
                 mockUserRepository,
-                mockItemRepository);
+                mockItemRepository,
+                mockItemDetailsCache,
+                mockItemAvailabilityCache,
+                mockUserExistenceCache,
+                mockApprovedBookingIndex,
+                mockItemLocks,
+                mockOutbox,
+                true);
         booker = new User();
         booker.setId(2L);
         booker.setName("Admin");
@@ -70,6 +108,7 @@ public class BookingServiceTest {
         booking.setEnd(LocalDateTime.now().withNano(0).plusDays(2));
         booking.setBooker(booker);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwnerId());
 
         expectedBooking = new BookingOutput(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
                 ItemMapper.mapToItemDto(item), UserMapper.mapToUserDto(booker));
@@ -79,19 +118,21 @@ public class BookingServiceTest {
     void shouldCreateBooking() {
         BookingDto bookingDto = new BookingDto(1L, item.getId(), booking.getStart(), booking.getEnd());
         when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(mockBookingRepository.findApprovedIntersection(anyLong(), any(), any())).thenReturn(new ArrayList<>());
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(mockApprovedBookingIndex.findOverlap(anyLong(), any(), any())).thenReturn(Optional.empty());
         when(mockBookingRepository.save(any())).thenReturn(booking);
 
         BookingOutput bookingOutput = bookingService.create(booker.getId(), bookingDto);
         assertEquals(expectedBooking, bookingOutput);
+        verify(mockOutbox).add(BookingEvent.AGGREGATE_TYPE, booking.getId(), BookingEvent.CREATED,
+                BookingMapper.mapToBookingEvent(booking));
     }
 
     @Test
     void shouldThrowWhenItemNotFound() {
         BookingDto bookingDto = new BookingDto(1L, 100L, booking.getStart(), booking.getEnd());
         when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         final EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -104,7 +145,7 @@ public class BookingServiceTest {
         item.setAvailable(false);
         BookingDto bookingDto = new BookingDto(1L, item.getId(), booking.getStart(), booking.getEnd());
         when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         final BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -116,7 +157,7 @@ public class BookingServiceTest {
     void shouldThrowWhenWrongBookingDate() {
         BookingDto bookingDto = new BookingDto(1L, item.getId(), booking.getStart(), LocalDateTime.now().minusDays(1));
         when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         final BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -126,14 +167,12 @@ public class BookingServiceTest {
 
     @Test
     void shouldThrowWhenBookingIntersection() {
-        Booking anotherBooking = new Booking();
-        anotherBooking.setId(15L);
-        anotherBooking.setStatus(BookingStatus.APPROVED);
+        BookingInterval anotherBooking = new BookingInterval(15L, booking.getStart(), booking.getEnd());
 
         BookingDto bookingDto = new BookingDto(1L, item.getId(), booking.getStart(), booking.getEnd());
         when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(mockBookingRepository.findApprovedIntersection(anyLong(), any(), any())).thenReturn(List.of(anotherBooking));
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(mockApprovedBookingIndex.findOverlap(anyLong(), any(), any())).thenReturn(Optional.of(anotherBooking));
 
         final BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -146,7 +185,7 @@ public class BookingServiceTest {
         BookingDto bookingDto = new BookingDto(1L, item.getId(), booking.getStart(), booking.getEnd());
         item.setOwnerId(booker.getId());
         when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         final EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -156,20 +195,32 @@ public class BookingServiceTest {
 
     @Test
     void shouldChangeBookingStatus() {
-        Booking bookingChangedStatus = new Booking();
-        bookingChangedStatus.setId(1L);
-        bookingChangedStatus.setStatus(BookingStatus.APPROVED);
-        bookingChangedStatus.setStart(booking.getStart());
-        bookingChangedStatus.setEnd(booking.getEnd());
-        bookingChangedStatus.setBooker(booker);
-        bookingChangedStatus.setItem(item);
-
         expectedBooking.setStatus(BookingStatus.APPROVED);
         when(mockBookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(mockBookingRepository.save(any())).thenReturn(bookingChangedStatus);
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(mockBookingRepository.findApprovedIntersection(anyLong(), any(), any())).thenReturn(List.of());
+        when(mockBookingRepository.updateStatusOfWaiting(anyLong(), anyLong(), any())).thenReturn(1);
 
         BookingOutput bookingOutput = bookingService.changeStatus(item.getOwnerId(), booking.getId(), true);
         assertEquals(expectedBooking, bookingOutput);
+        verify(mockBookingRepository).updateStatusOfWaiting(booking.getId(), item.getOwnerId(),
+                BookingStatus.APPROVED);
+        verify(mockOutbox).add(BookingEvent.AGGREGATE_TYPE, booking.getId(), BookingEvent.STATUS_CHANGED,
+                BookingMapper.mapToBookingEvent(booking));
+        verify(mockItemAvailabilityCache).invalidate(item.getId());
+        verify(mockApprovedBookingIndex).addApproved(booking);
+    }
+
+    @Test
+    void shouldRejectBookingWithoutLockingItem() {
+        expectedBooking.setStatus(BookingStatus.REJECTED);
+        when(mockBookingRepository.updateStatusOfWaiting(anyLong(), anyLong(), any())).thenReturn(1);
+        when(mockBookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+
+        BookingOutput bookingOutput = bookingService.changeStatus(item.getOwnerId(), booking.getId(), false);
+        assertEquals(expectedBooking, bookingOutput);
+        verify(mockItemLocks, never()).lockUntilCompletion(any());
+        verify(mockBookingRepository, never()).findApprovedIntersection(anyLong(), any(), any());
     }
 
     @Test
@@ -180,17 +231,143 @@ public class BookingServiceTest {
                 EntityNotFoundException.class,
                 () -> bookingService.changeStatus(booker.getId(), booking.getId(), true)
         );
+        verify(mockBookingRepository, never()).updateStatusOfWaiting(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldThrowWhenRejectNotOwnedBooking() {
+        when(mockBookingRepository.updateStatusOfWaiting(anyLong(), anyLong(), any())).thenReturn(0);
+        when(mockBookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+
+        final EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> bookingService.changeStatus(booker.getId(), booking.getId(), false)
+        );
     }
 
     @Test
     void shouldThrowWhenChangeStatusForNotWaitingBooking() {
-        booking.setStatus(BookingStatus.REJECTED);
         when(mockBookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(mockBookingRepository.findApprovedIntersection(anyLong(), any(), any())).thenReturn(List.of());
+        when(mockBookingRepository.updateStatusOfWaiting(anyLong(), anyLong(), any())).thenReturn(0);
+
+        final BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> bookingService.changeStatus(item.getOwnerId(), booking.getId(), true)
+        );
+        verify(mockApprovedBookingIndex, never()).addApproved(any());
+    }
+
+    @Test
+    void shouldThrowWhenApproveBookingIntersectingApproved() {
+        Booking approvedBooking = new Booking();
+        approvedBooking.setId(15L);
+        approvedBooking.setStatus(BookingStatus.APPROVED);
+        when(mockBookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(mockItemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(mockBookingRepository.findApprovedIntersection(anyLong(), any(), any()))
+                .thenReturn(List.of(approvedBooking));
 
         final BadRequestException exception = assertThrows(
                 BadRequestException.class,
                 () -> bookingService.changeStatus(item.getOwnerId(), booking.getId(), true)
         );
+        verify(mockItemLocks).lockUntilCompletion(item.getId());
+        verify(mockBookingRepository, never()).updateStatusOfWaiting(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void shouldThrowWhenDatabaseRejectsIntersectingApproval() {
+        BookingService serviceWithoutPrecheck = new BookingServiceImpl(
+                mockBookingRepository,
+                mockUserRepository,
+                mockItemRepository,
+                mockItemDetailsCache,
+                mockItemAvailabilityCache,
+                mockUserExistenceCache,
+                mockApprovedBookingIndex,
+                mockItemLocks,
+                mockOutbox,
+                false);
+        when(mockBookingRepository.updateStatusOfWaiting(anyLong(), anyLong(), any()))
+                .thenThrow(new DataIntegrityViolationException("ex_bookings_approved_overlap"));
+
+        final BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> serviceWithoutPrecheck.changeStatus(item.getOwnerId(), booking.getId(), true)
+        );
+        verify(mockBookingRepository, never()).findApprovedIntersection(anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldChangeStatusesInBulk() {
+        Booking overlapping = new Booking();
+        overlapping.setId(2L);
+        overlapping.setStatus(BookingStatus.WAITING);
+        overlapping.setStart(booking.getStart().plusHours(1));
+        overlapping.setEnd(booking.getEnd().plusHours(1));
+        overlapping.setBooker(booker);
+        overlapping.setItem(item);
+        overlapping.setOwnerId(item.getOwnerId());
+        Booking rejected = new Booking();
+        rejected.setId(4L);
+        rejected.setStatus(BookingStatus.WAITING);
+        rejected.setStart(booking.getStart());
+        rejected.setEnd(booking.getEnd());
+        rejected.setBooker(booker);
+        rejected.setItem(item);
+        rejected.setOwnerId(item.getOwnerId());
+        when(mockBookingRepository.findAllByIdInAndOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(booking, overlapping, rejected));
+        when(mockBookingRepository.findApprovedIntersectionOfItems(anyCollection(), any(), any()))
+                .thenReturn(List.of());
+        when(mockBookingRepository.updateStatusesOfWaiting(any(), any())).thenReturn(new boolean[]{true, true});
+
+        List<BookingStatusResult> results = bookingService.changeStatuses(item.getOwnerId(), List.of(
+                new BookingStatusChange(1L, true),
+                new BookingStatusChange(2L, true),
+                new BookingStatusChange(3L, true),
+                new BookingStatusChange(4L, false),
+                new BookingStatusChange(1L, false)));
+
+        assertEquals(List.of(
+                BookingStatusResult.success(1L, BookingStatus.APPROVED),
+                BookingStatusResult.failure(2L, "Intersection with approved bookings"),
+                BookingStatusResult.failure(3L, "Booking with id=3 not found"),
+                BookingStatusResult.success(4L, BookingStatus.REJECTED),
+                BookingStatusResult.failure(1L, "Duplicate booking id")), results);
+        verify(mockBookingRepository).updateStatusesOfWaiting(List.of(1L, 4L),
+                List.of(BookingStatus.APPROVED, BookingStatus.REJECTED));
+        verify(mockApprovedBookingIndex).addApproved(booking);
+    }
+
+    @Test
+    void shouldReportBookingChangedConcurrentlyInBulk() {
+        when(mockBookingRepository.findAllByIdInAndOwnerId(anyCollection(), anyLong())).thenReturn(List.of(booking));
+        when(mockBookingRepository.updateStatusesOfWaiting(any(), any())).thenReturn(new boolean[]{false});
+
+        List<BookingStatusResult> results = bookingService.changeStatuses(item.getOwnerId(),
+                List.of(new BookingStatusChange(1L, false)));
+
+        assertEquals(List.of(BookingStatusResult.failure(1L, "Can't change booking status")), results);
+    }
+
+    @Test
+    void shouldReportMissingStatusChangesInBulk() {
+        when(mockBookingRepository.findAllByIdInAndOwnerId(anyCollection(), anyLong())).thenReturn(List.of());
+
+        List<BookingStatusResult> results = bookingService.changeStatuses(item.getOwnerId(),
+                Arrays.asList(null, new BookingStatusChange(null, true)));
+
+        assertEquals(List.of(BookingStatusResult.failure(null, "Booking id and decision are required"),
+                BookingStatusResult.failure(null, "Booking id and decision are required")), results);
+        verify(mockBookingRepository, never()).updateStatusesOfWaiting(any(), any());
+    }
+
+    @Test
+    void shouldThrowWhenNoStatusChanges() {
+        assertThrows(BadRequestException.class, () -> bookingService.changeStatuses(item.getOwnerId(), List.of()));
     }
 
     @Test
@@ -203,11 +380,11 @@ public class BookingServiceTest {
 
     @Test
     void shouldThrowWhenUserNotFound() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(false);
 
         final EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> bookingService.getByBooker(99L, QueryBookingState.ALL, null)
+                () -> bookingService.getByBooker(99L, BookingFilter.of(QueryBookingState.ALL), null)
         );
     }
 
@@ -223,11 +400,11 @@ public class BookingServiceTest {
 
     @Test
     void shouldFindBookerBookings() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(mockBookingRepository.findAllByBooker_Id(anyLong(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockBookingRepository.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of(booking)));
 
-        List<BookingOutput> bookingOutputs = bookingService.getByBooker(booker.getId(), QueryBookingState.ALL,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByBooker(booker.getId(),
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10)).getContent();
 
         assertEquals(List.of(expectedBooking), bookingOutputs);
     }
@@ -238,11 +415,11 @@ public class BookingServiceTest {
         owner.setId(1L);
         owner.setName("Tester");
         owner.setEmail("test@mail.com");
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(mockBookingRepository.findAllByItem_OwnerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockBookingRepository.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of(booking)));
 
-        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(owner.getId(), QueryBookingState.ALL,
-                EntityPagination.of(0, 10));
+        List<BookingOutput> bookingOutputs = bookingService.getByOwnerItems(owner.getId(),
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10)).getContent();
 
         assertEquals(List.of(expectedBooking), bookingOutputs);
     }
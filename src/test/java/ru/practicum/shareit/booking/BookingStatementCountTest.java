@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingOutput;
+import ru.practicum.shareit.pagination.EntityPagination;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.UserExistenceCache;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional
+@SpringBootTest(properties = {"db.test.name=statements", "spring.jpa.properties.hibernate.generate_statistics=true",
+                             "shareit.outbox.relay.enabled=false"},
+                webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Sql("/create_entities.sql")
+public class BookingStatementCountTest {
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserExistenceCache userExistenceCache;
+    private final Long ownerId = 1L;
+    private final Long bookerId = 2L;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userExistenceCache.exists(ownerId);
+        userExistenceCache.exists(bookerId);
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadBookerBookingsPageWithOneQuery() {
+        List<BookingOutput> bookings = bookingService.getByBooker(bookerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10)).getContent();
+
+        Assertions.assertEquals(4, bookings.size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void shouldLoadOwnerBookingsPageWithOneQuery() {
+        List<BookingOutput> bookings = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10)).getContent();
+
+        Assertions.assertEquals(4, bookings.size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void shouldLoadOwnerBookingsAfterCursorWithOneQuery() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2030, 1, 1, 0, 0), Long.MAX_VALUE);
+        List<BookingOutput> bookings = bookingService.getByOwnerItems(ownerId,
+                BookingFilter.of(QueryBookingState.ALL), EntityPagination.of(0, 10, cursor.encode())).getContent();
+
+        Assertions.assertEquals(4, bookings.size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void shouldLoadBookingWithOneQuery() {
+        BookingOutput booking = bookingService.get(bookerId, 1L);
+
+        Assertions.assertEquals(1L, booking.getItem().getId());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void shouldRejectBookingWithConditionalUpdate() {
+        BookingOutput booking = bookingService.changeStatus(ownerId, 2L, false);
+        entityManager.flush();
+
+        Assertions.assertEquals(BookingStatus.REJECTED, booking.getStatus());
+        // update, load for the response, outbox id block allocation, outbox insert
+        assertStatementCount(4);
+        Assertions.assertEquals(BookingStatus.REJECTED, bookingService.get(ownerId, 2L).getStatus());
+    }
+
+    private void assertStatementCount(long expected) {
+        Assertions.assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ApprovedBookingIndexTest {
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    private ApprovedBookingIndex index;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        index = new ApprovedBookingIndex(mockBookingRepository, 100);
+    }
+
+    @Test
+    void shouldLoadItemBookingsOnce() {
+        when(mockBookingRepository.findApprovedIntervals(eq(1L), any()))
+                .thenReturn(List.of(new BookingInterval(10L, start, start.plusDays(2))));
+        when(mockBookingRepository.findById(10L))
+                .thenReturn(Optional.of(booking(10L, 1L, start, start.plusDays(2), BookingStatus.APPROVED)));
+
+        assertTrue(index.findOverlap(1L, start.plusDays(1), start.plusDays(3)).isPresent());
+        assertTrue(index.findOverlap(1L, start.plusDays(3), start.plusDays(4)).isEmpty());
+
+        verify(mockBookingRepository, times(1)).findApprovedIntervals(eq(1L), any());
+    }
+
+    @Test
+    void shouldFindApprovedBookingAddedAfterLoad() {
+        when(mockBookingRepository.findApprovedIntervals(anyLong(), any())).thenReturn(List.of());
+        when(mockBookingRepository.findById(11L))
+                .thenReturn(Optional.of(booking(11L, 1L, start, start.plusDays(1), BookingStatus.APPROVED)));
+        assertTrue(index.findOverlap(1L, start, start.plusDays(1)).isEmpty());
+
+        index.addApproved(booking(11L, 1L, start, start.plusDays(1), BookingStatus.APPROVED));
+
+        assertTrue(index.findOverlap(1L, start, start.plusDays(1)).isPresent());
+    }
+
+    @Test
+    void shouldDropDeletedBookings() {
+        when(mockBookingRepository.findApprovedIntervals(anyLong(), any()))
+                .thenReturn(List.of(new BookingInterval(12L, start, start.plusDays(2))));
+        when(mockBookingRepository.findById(12L)).thenReturn(Optional.empty());
+
+        assertTrue(index.findOverlap(1L, start, start.plusDays(1)).isEmpty());
+        assertTrue(index.findOverlap(1L, start, start.plusDays(1)).isEmpty());
+
+        verify(mockBookingRepository, times(1)).findById(12L);
+        verify(mockBookingRepository, times(2)).findApprovedIntersection(1L, start, start.plusDays(1));
+    }
+
+    @Test
+    void shouldDropBookingsNoLongerApproved() {
+        when(mockBookingRepository.findApprovedIntervals(anyLong(), any()))
+                .thenReturn(List.of(new BookingInterval(13L, start, start.plusDays(2))));
+        when(mockBookingRepository.findById(13L))
+                .thenReturn(Optional.of(booking(13L, 1L, start, start.plusDays(2), BookingStatus.REJECTED)));
+
+        assertTrue(index.findOverlap(1L, start, start.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void shouldConfirmMissInDatabase() {
+        Booking approved = booking(14L, 1L, start, start.plusDays(2), BookingStatus.APPROVED);
+        when(mockBookingRepository.findApprovedIntervals(anyLong(), any())).thenReturn(List.of());
+        when(mockBookingRepository.findApprovedIntersection(1L, start, start.plusDays(1)))
+                .thenReturn(List.of(approved));
+        when(mockBookingRepository.findById(14L)).thenReturn(Optional.of(approved));
+
+        assertEquals(Optional.of(14L), index.findOverlap(1L, start, start.plusDays(1)).map(BookingInterval::getId));
+        assertEquals(Optional.of(14L), index.findOverlap(1L, start, start.plusDays(1)).map(BookingInterval::getId));
+
+        verify(mockBookingRepository, times(1)).findApprovedIntersection(1L, start, start.plusDays(1));
+    }
+
+    private Booking booking(Long id, Long itemId, LocalDateTime from, LocalDateTime to, BookingStatus status) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(from);
+        booking.setEnd(to);
+        booking.setStatus(status);
+        return booking;
+    }
+}
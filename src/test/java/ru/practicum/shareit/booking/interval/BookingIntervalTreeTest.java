@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingIntervalTreeTest {
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void shouldFindOverlappingInterval() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(interval(1L, 0, 10));
+        tree.add(interval(2L, 20, 30));
+        tree.add(interval(3L, 40, 50));
+
+        assertEquals(Optional.of(2L), tree.findOverlap(at(25), at(35)).map(BookingInterval::getId));
+        assertEquals(Optional.of(3L), tree.findOverlap(at(50), at(60)).map(BookingInterval::getId));
+        assertTrue(tree.findOverlap(at(11), at(19)).isEmpty());
+        assertTrue(tree.findOverlap(at(51), at(60)).isEmpty());
+    }
+
+    @Test
+    void shouldFindLongIntervalCoveringQuery() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(interval(1L, 0, 100));
+        for (long i = 2; i < 20; i++) {
+            tree.add(interval(i, 200 + i * 10, 205 + i * 10));
+        }
+
+        assertEquals(Optional.of(1L), tree.findOverlap(at(60), at(70)).map(BookingInterval::getId));
+    }
+
+    @Test
+    void shouldNotFindRemovedInterval() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(interval(1L, 0, 10));
+        tree.add(interval(2L, 20, 30));
+        tree.add(interval(2L, 20, 30));
+
+        tree.remove(2L);
+
+        assertEquals(1, tree.size());
+        assertTrue(tree.findOverlap(at(20), at(30)).isEmpty());
+        assertTrue(tree.findOverlap(at(5), at(6)).isPresent());
+    }
+
+    @Test
+    void shouldAnswerLikeLinearScan() {
+        Random random = new Random(42);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<BookingInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(10_000);
+            BookingInterval interval = interval(id, start, start + random.nextInt(50));
+            intervals.add(interval);
+            tree.add(interval);
+            if (random.nextInt(4) == 0) {
+                BookingInterval removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed.getId());
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(10_000);
+            LocalDateTime from = at(start);
+            LocalDateTime to = at(start + random.nextInt(30));
+            boolean expected = intervals.stream()
+                    .anyMatch(b -> !b.getStart().isAfter(to) && !b.getEnd().isBefore(from));
+            assertEquals(expected, tree.findOverlap(from, to).isPresent());
+        }
+    }
+
+    private BookingInterval interval(Long id, int startHour, int endHour) {
+        return new BookingInterval(id, at(startHour), at(endHour));
+    }
+
+    private LocalDateTime at(int hours) {
+        return base.plusHours(hours);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 2, Duration.ofMinutes(1));
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.get(1L);
+        cache.put(3L, "three");
+
+        assertEquals("one", cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals("three", cache.get(3L));
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getSize());
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    void shouldExpireEntryAfterTtl() {
+        MutableClock clock = new MutableClock(Instant.now());
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, Duration.ofSeconds(30), clock);
+        cache.put(1L, "one");
+        assertEquals("one", cache.get(1L));
+
+        clock.advance(Duration.ofSeconds(31));
+
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void shouldInvalidateEntries() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1));
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+
+        cache.invalidate(1L);
+        cache.invalidateIf(key -> key > 2L);
+
+        assertNull(cache.get(1L));
+        assertEquals("two", cache.get(2L));
+        assertNull(cache.get(3L));
+    }
+
+    @Test
+    void shouldThrowWhenWrongParams() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>("test", 0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>("test", 1, Duration.ZERO));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
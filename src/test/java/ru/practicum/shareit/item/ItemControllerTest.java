@@ -5,11 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.item.availability.AvailabilityGranularity;
+import ru.practicum.shareit.item.availability.BusyInterval;
+import ru.practicum.shareit.item.availability.ItemAvailability;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentOutput;
+import ru.practicum.shareit.item.dto.ItemCreateResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.nio.charset.StandardCharsets;
@@ -19,6 +25,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -30,6 +37,9 @@ public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemAvailabilityService itemAvailabilityService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -58,6 +68,79 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    void shouldCreateItemsInBatch() throws Exception {
+        ItemDto withoutName = new ItemDto(null, null, "Без имени", true);
+        when(itemService.createAll(anyLong(), anyList()))
+                .thenReturn(List.of(ItemCreateResult.success(0, itemDto),
+                        ItemCreateResult.failure(1, "Item name should not be blank or null")));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .content(mapper.writeValueAsString(List.of(itemDto, withoutName)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].item.id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].item").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is("Item name should not be blank or null")));
+
+        verify(itemService).createAll(eq(1L), argThat(items -> items.size() == 2));
+    }
+
+    @Test
+    void shouldSuggestItemNames() throws Exception {
+        when(itemService.getNameSuggestions(anyLong(), anyString(), anyInt()))
+                .thenReturn(List.of("лопата", "лопатка"));
+
+        mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("prefix", "лоп")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("лопата")));
+
+        verify(itemService).getNameSuggestions(2L, "лоп", 10);
+    }
+
+    @Test
+    void shouldReturnItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 4, 0, 0);
+        ItemAvailability availability = new ItemAvailability(1L, from, to, AvailabilityGranularity.DAY,
+                List.of(new BusyInterval(from.plusDays(1), from.plusDays(2))), "011");
+        when(itemAvailabilityService.get(anyLong(), anyLong(), any(), any(), any())).thenReturn(availability);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-04T00:00:00")
+                        .param("granularity", "day")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1L), Long.class))
+                .andExpect(jsonPath("$.granularity", is("DAY")))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.slots", is("011")));
+        verify(itemAvailabilityService).get(2L, 1L, from, to, AvailabilityGranularity.DAY);
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownGranularity() throws Exception {
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("granularity", "week")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnBadRequestWhenCreateItemWithBlankName() throws Exception {
         ItemDto blankNameItemDto = new ItemDto(1L, " ", "Unknown", false);
@@ -165,8 +248,8 @@ public class ItemControllerTest {
 
     @Test
     void shouldFindAvailableItemsByText() throws Exception {
-        when(itemService.getAvailableToRentByText(anyLong(), anyString(), any()))
-                .thenReturn(List.of(itemDto));
+        when(itemService.getAvailableToRentByText(anyLong(), anyString(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
 
         mockMvc.perform(get("/items/search")
                             .header("X-Sharer-User-Id", ownerId)
@@ -181,11 +264,45 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    void shouldFindItemsFreeInWindow() throws Exception {
+        when(itemService.getAvailableToRentByText(anyLong(), anyString(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
+
+        mockMvc.perform(get("/items/search")
+                            .header("X-Sharer-User-Id", ownerId)
+                            .param("text", "Лопата")
+                            .param("start", "2030-01-01T10:00:00")
+                            .param("end", "2030-01-02T10:00:00")
+                            .characterEncoding(StandardCharsets.UTF_8)
+                            .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(itemService).getAvailableToRentByText(eq(1L), eq("лопата"),
+                eq(LocalDateTime.of(2030, 1, 1, 10, 0)), eq(LocalDateTime.of(2030, 1, 2, 10, 0)), eq(false), any());
+    }
+
+    @Test
+    void shouldPassFuzzyFlagToSearch() throws Exception {
+        when(itemService.getAvailableToRentByText(anyLong(), anyString(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
+
+        mockMvc.perform(get("/items/search")
+                            .header("X-Sharer-User-Id", ownerId)
+                            .param("text", "лапата")
+                            .param("fuzzy", "true")
+                            .characterEncoding(StandardCharsets.UTF_8)
+                            .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(itemService).getAvailableToRentByText(eq(1L), eq("лапата"), isNull(), isNull(), eq(true), any());
+    }
+
     @Test
     void shouldFindOwnerItems() throws Exception {
         ItemDto secondItemDto = new ItemDto(2L, "Гиря", "Гиря, чтобы качать мышцы", true);
         when(itemService.getByOwner(anyLong(), any()))
-                .thenReturn(List.of(itemDto, secondItemDto));
+                .thenReturn(new SliceImpl<>(List.of(itemDto, secondItemDto)));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", ownerId)
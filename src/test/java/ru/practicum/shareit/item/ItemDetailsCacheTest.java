@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.cache.CacheRegistry;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemDetailsCacheTest {
+
+    private ItemDetailsCache itemDetailsCache;
+
+    private final ItemDto itemDto = new ItemDto(1L, "Drill", "Cordless drill", true);
+
+    @BeforeEach
+    void setUp() {
+        itemDetailsCache = new ItemDetailsCache(new CacheRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldReturnViewPutWithCurrentToken() {
+        long token = itemDetailsCache.readToken(1L);
+        itemDetailsCache.put(2L, 3L, itemDto, token);
+
+        assertEquals(itemDto, itemDetailsCache.get(1L, 3L));
+        assertNull(itemDetailsCache.get(1L, 2L));
+    }
+
+    @Test
+    void shouldDropViewReadBeforeInvalidation() {
+        long token = itemDetailsCache.readToken(1L);
+        itemDetailsCache.invalidate(1L);
+        itemDetailsCache.put(2L, 3L, itemDto, token);
+
+        assertNull(itemDetailsCache.get(1L, 3L));
+    }
+
+    @Test
+    void shouldDropAllViews() {
+        itemDetailsCache.put(2L, 3L, itemDto, itemDetailsCache.readToken(1L));
+        long token = itemDetailsCache.readToken(1L);
+        itemDetailsCache.invalidateAll();
+        itemDetailsCache.put(2L, 2L, itemDto, token);
+
+        assertNull(itemDetailsCache.get(1L, 3L));
+        assertNull(itemDetailsCache.get(1L, 2L));
+    }
+}
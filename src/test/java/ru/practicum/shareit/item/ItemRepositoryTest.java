@@ -6,14 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Transactional
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
@@ -26,6 +31,9 @@ public class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Test
     void shouldFindAvailableItemsByText() {
         User user1 = new User();
@@ -61,11 +69,76 @@ public class ItemRepositoryTest {
         Item savedItem2 = itemRepository.save(item2);
         Item savedItem3 = itemRepository.save(item3);
 
-        Page<Item> pageItems = itemRepository.findAvailableToRentByText("Лопата", PageRequest.of(0, 10));
+        Slice<Item> pageItems = itemRepository.findAvailableToRentByText("Лопата", PageRequest.of(0, 10));
         List<Item> items = pageItems.getContent();
 
         Assertions.assertEquals(2, items.size());
         Assertions.assertEquals(savedItem1.getId(), items.get(0).getId());
         Assertions.assertEquals(savedItem3.getId(), items.get(1).getId());
     }
+
+    @Test
+    void shouldFindAvailableItemsFreeInWindow() {
+        User owner = new User();
+        owner.setName("Tester");
+        owner.setEmail("test@mail.com");
+        owner = userRepository.save(owner);
+        User booker = new User();
+        booker.setName("Master");
+        booker.setEmail("master@mail.com");
+        booker = userRepository.save(booker);
+
+        Item bookedItem = createItem("Лопата", owner);
+        Item waitingItem = createItem("Лопата садовая", owner);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        createBooking(bookedItem, booker, start.minusDays(1), start.plusHours(1), BookingStatus.APPROVED);
+        createBooking(waitingItem, booker, start, start.plusDays(1), BookingStatus.WAITING);
+
+        List<Item> freeItems = itemRepository.findAvailableToRentByTextInWindow("лопата", start, start.plusDays(1),
+                PageRequest.of(0, 10)).getContent();
+        List<Item> laterItems = itemRepository.findAvailableToRentByTextInWindow("лопата", start.plusHours(2),
+                start.plusDays(1), PageRequest.of(0, 10)).getContent();
+
+        Assertions.assertEquals(List.of(waitingItem.getId()),
+                freeItems.stream().map(Item::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(2, laterItems.size());
+    }
+
+    @Test
+    void shouldRankNameMatchesFirst() {
+        User owner = new User();
+        owner.setName("Tester");
+        owner.setEmail("test@mail.com");
+        owner = userRepository.save(owner);
+
+        Item descriptionMatch = createItem("Тачка", owner);
+        descriptionMatch.setDescription("Возит грабли");
+        Item nameMatch = createItem("Грабли", owner);
+
+        List<Item> items = itemRepository.findAvailableToRentByText("грабли", PageRequest.of(0, 10)).getContent();
+
+        Assertions.assertEquals(List.of(nameMatch.getId(), descriptionMatch.getId()),
+                items.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
+    private Item createItem(String name, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Для огорода");
+        item.setAvailable(true);
+        item.setOwnerId(owner.getId());
+        return itemRepository.save(item);
+    }
+
+    private void createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                               BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setOwnerId(item.getOwnerId());
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
 }
@@ -5,33 +5,45 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentOutput;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemCreateResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemTextSearch;
+import ru.practicum.shareit.item.search.ItemVocabulary;
 import ru.practicum.shareit.pagination.EntityPagination;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.validation.Validation;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +64,24 @@ public class ItemServiceTest {
     @Mock
     private ItemRequestRepository mockRequestRepository;
 
+    @Mock
+    private ItemTextSearch mockItemTextSearch;
+
+    @Mock
+    private ItemNameSuggester mockItemNameSuggester;
+
+    @Mock
+    private ItemVocabulary mockItemVocabulary;
+
+    @Mock
+    private ItemDetailsCache mockItemDetailsCache;
+
+    @Mock
+    private ItemAvailabilityCache mockItemAvailabilityCache;
+
+    @Mock
+    private UserExistenceCache mockUserExistenceCache;
+
     private ItemService itemService;
     private ItemDto itemDto = new ItemDto(1L, "Лопата", "Лопата для огорода", true);
     private User user;
@@ -64,7 +94,14 @@ public class ItemServiceTest {
                 mockUserRepository,
                 mockBookingRepository,
                 mockCommentRepository,
-                mockRequestRepository
+                mockRequestRepository,
+                mockItemTextSearch,
+                mockItemNameSuggester,
+                mockItemVocabulary,
+                mockItemDetailsCache,
+                mockItemAvailabilityCache,
+                mockUserExistenceCache,
+                Validation.buildDefaultValidatorFactory().getValidator()
         );
 
         user = new User();
@@ -82,7 +119,7 @@ public class ItemServiceTest {
 
     @Test
     void shouldCreateItem() {
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.save(any())).thenReturn(item);
 
         ItemDto createdItem = itemService.create(user.getId(), itemDto);
@@ -98,7 +135,7 @@ public class ItemServiceTest {
         itemDtoOnRequest.setRequestId(request.getId());
         item.setRequestId(request.getId());
 
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.save(any())).thenReturn(item);
         when(mockRequestRepository.findById(anyLong())).thenReturn(Optional.of(request));
 
@@ -107,9 +144,88 @@ public class ItemServiceTest {
         assertEquals(itemDtoOnRequest, createdItem);
     }
 
+    @Test
+    void shouldCreateValidItemsAndReportInvalidOnes() {
+        ItemRequest request = new ItemRequest();
+        request.setId(1L);
+        ItemDto onRequest = new ItemDto(null, "Грабли", "Грабли для огорода", true);
+        onRequest.setRequestId(request.getId());
+        ItemDto onUnknownRequest = new ItemDto(null, "Тяпка", "Тяпка для огорода", true);
+        onUnknownRequest.setRequestId(99L);
+        ItemDto withoutName = new ItemDto(null, " ", "Без имени", true);
+
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockRequestRepository.findAllById(anySet())).thenReturn(List.of(request));
+        when(mockItemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            long id = 10;
+            for (Item saved : items) {
+                saved.setId(id++);
+            }
+            return items;
+        });
+
+        List<ItemCreateResult> results = itemService.createAll(user.getId(),
+                List.of(itemDto, withoutName, onRequest, onUnknownRequest));
+
+        assertEquals(4, results.size());
+        assertEquals(10L, results.get(0).getItem().getId());
+        assertNull(results.get(0).getError());
+        assertEquals("Item name should not be blank or null", results.get(1).getError());
+        assertNull(results.get(1).getItem());
+        assertEquals(11L, results.get(2).getItem().getId());
+        assertEquals(request.getId(), results.get(2).getItem().getRequestId());
+        assertEquals("ItemRequest with id=99 not found", results.get(3).getError());
+        assertEquals(3, results.get(3).getIndex());
+        verify(mockUserExistenceCache).exists(user.getId());
+        verify(mockRequestRepository).findAllById(Set.of(1L, 99L));
+        verify(mockItemTextSearch, times(2)).refresh(any());
+    }
+
+    @Test
+    void shouldNotCreateItemsWhenUserNotFound() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.createAll(2L, List.of(itemDto)));
+        verify(mockItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldNotCreateEmptyBatchOfItems() {
+        assertThrows(BadRequestException.class, () -> itemService.createAll(user.getId(), List.of()));
+    }
+
+    @Test
+    void shouldSuggestItemNames() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemNameSuggester.suggest("лоп", 5)).thenReturn(List.of("лопата", "лопатка"));
+
+        assertEquals(List.of("лопата", "лопатка"), itemService.getNameSuggestions(user.getId(), "лоп", 5));
+    }
+
+    @Test
+    void shouldNotSuggestTooManyItemNames() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> itemService.getNameSuggestions(user.getId(), "лоп", 500));
+        verify(mockItemNameSuggester, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldEvictItemsOfDeletedOwner() {
+        when(mockItemRepository.findIdsByOwnerId(user.getId())).thenReturn(List.of(1L, 2L));
+
+        itemService.evictOwnerItems(user.getId());
+
+        verify(mockItemNameSuggester).removeAll(List.of(1L, 2L));
+        verify(mockItemVocabulary).removeAll(List.of(1L, 2L));
+        verify(mockItemAvailabilityCache).invalidate(1L);
+        verify(mockItemAvailabilityCache).invalidate(2L);
+    }
+
     @Test
     void shouldFindItemForOwner() {
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(mockBookingRepository.findNextBookings(anyLong(), any())).thenReturn(new ArrayList<>());
         when(mockBookingRepository.findLastBookings(anyLong(), any())).thenReturn(new ArrayList<>());
@@ -122,7 +238,7 @@ public class ItemServiceTest {
 
     @Test
     void shouldFindItemForOther() {
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(mockCommentRepository.findItemComments(anyLong())).thenReturn(null);
 
@@ -131,22 +247,48 @@ public class ItemServiceTest {
         assertEquals(itemDto, findItem);
     }
 
+    @Test
+    void shouldReturnCachedItemWithoutQueries() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemDetailsCache.get(itemDto.getId(), 2L)).thenReturn(itemDto);
+
+        ItemDto findItem = itemService.get(2L, itemDto.getId());
+
+        assertEquals(itemDto, findItem);
+        verify(mockItemRepository, never()).findById(anyLong());
+        verify(mockCommentRepository, never()).findItemComments(anyLong());
+    }
+
     @Test
     void shouldFindAllOwnerItemsWithBookings() {
         List<Item> itemList = List.of(item);
-        Page<Item> itemPage = new PageImpl<>(itemList);
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        Slice<Item> itemPage = new SliceImpl<>(itemList);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(itemPage);
-        BookingShort nextBooking = new BookingShort(20L, 2L);
-        BookingShort lastBooking = new BookingShort(18L, 2L);
-        when(mockBookingRepository.findNextBookings(anyLong(), any())).thenReturn(List.of(nextBooking));
-        when(mockBookingRepository.findLastBookings(anyLong(), any())).thenReturn(List.of(lastBooking));
-        when(mockCommentRepository.findItemComments(anyLong())).thenReturn(null);
+        User booker = new User();
+        booker.setId(2L);
+        Booking nextBooking = new Booking();
+        nextBooking.setId(20L);
+        nextBooking.setItem(item);
+        nextBooking.setBooker(booker);
+        Booking lastBooking = new Booking();
+        lastBooking.setId(18L);
+        lastBooking.setItem(item);
+        lastBooking.setBooker(booker);
+        Comment comment = new Comment();
+        comment.setId(1L);
+        comment.setItemId(item.getId());
+        comment.setText("Отличная вещь, рекомендую");
+        comment.setAuthor(booker);
+        when(mockBookingRepository.findNextBookingsOfItems(anyCollection(), any())).thenReturn(List.of(nextBooking));
+        when(mockBookingRepository.findLastBookingsOfItems(anyCollection(), any())).thenReturn(List.of(lastBooking));
+        when(mockCommentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(comment));
 
-        List<ItemDto> findItems = itemService.getByOwner(user.getId(), EntityPagination.of(0, 10));
+        List<ItemDto> findItems = itemService.getByOwner(user.getId(), EntityPagination.of(0, 10)).getContent();
         ItemDto copyItemDto = new ItemDto(1L, "Лопата", "Лопата для огорода", true);
-        copyItemDto.setNextBooking(nextBooking);
-        copyItemDto.setLastBooking(lastBooking);
+        copyItemDto.setNextBooking(new BookingShort(20L, 2L));
+        copyItemDto.setLastBooking(new BookingShort(18L, 2L));
+        copyItemDto.setComments(List.of(CommentMapper.mapToCommentDto(comment)));
 
         assertEquals(List.of(copyItemDto), findItems);
     }
@@ -154,44 +296,79 @@ public class ItemServiceTest {
     @Test
     void shouldFindAllOwnerItems() {
         List<Item> itemList = List.of(item);
-        Page<Item> itemPage = new PageImpl<>(itemList);
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        Slice<Item> itemPage = new SliceImpl<>(itemList);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(itemPage);
-        when(mockBookingRepository.findNextBookings(anyLong(), any())).thenReturn(new ArrayList<>());
-        when(mockBookingRepository.findLastBookings(anyLong(), any())).thenReturn(new ArrayList<>());
-        when(mockCommentRepository.findItemComments(anyLong())).thenReturn(null);
+        when(mockBookingRepository.findNextBookingsOfItems(anyCollection(), any())).thenReturn(new ArrayList<>());
+        when(mockBookingRepository.findLastBookingsOfItems(anyCollection(), any())).thenReturn(new ArrayList<>());
+        when(mockCommentRepository.findAllByItemIdIn(anyCollection())).thenReturn(new ArrayList<>());
 
-        List<ItemDto> findItems = itemService.getByOwner(user.getId(), EntityPagination.of(0, 10));
+        List<ItemDto> findItems = itemService.getByOwner(user.getId(), EntityPagination.of(0, 10)).getContent();
+        itemDto.setComments(new ArrayList<>());
 
         assertEquals(List.of(itemDto), findItems);
     }
 
     @Test
     void shouldFindAvailableToRentItems() {
-        List<Item> itemList = List.of(item);
-        Page<Item> itemPage = new PageImpl<>(itemList);
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
-        when(mockItemRepository.findAvailableToRentByText(anyString(), any())).thenReturn(itemPage);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemTextSearch.findAvailableToRent(anyString(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+
+        List<ItemDto> findItems = itemService.getAvailableToRentByText(user.getId(), "Лопата", null, null, false,
+                EntityPagination.of(0, 10)).getContent();
+
+        assertEquals(List.of(itemDto), findItems);
+    }
+
+    @Test
+    void shouldSearchCorrectedTextInFuzzyMode() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemVocabulary.correct("лапата")).thenReturn("лопата");
+        when(mockItemTextSearch.findAvailableToRent(anyString(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
 
-        List<ItemDto> findItems = itemService.getAvailableToRentByText(user.getId(), "Лопата",
-                EntityPagination.of(0, 10));
+        List<ItemDto> findItems = itemService.getAvailableToRentByText(user.getId(), "лапата", null, null, true,
+                EntityPagination.of(0, 10)).getContent();
 
         assertEquals(List.of(itemDto), findItems);
+        verify(mockItemTextSearch).findAvailableToRent(eq("лопата"), isNull(), isNull(), any());
     }
 
     @Test
     void shouldReturnEmptyListWhenTryFindItemsWithBlankText() {
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
 
-        List<ItemDto> findItems = itemService.getAvailableToRentByText(user.getId(), "  ",
-                EntityPagination.of(0, 10));
+        List<ItemDto> findItems = itemService.getAvailableToRentByText(user.getId(), "  ", null, null, false,
+                EntityPagination.of(0, 10)).getContent();
 
         assertTrue(findItems.isEmpty());
     }
 
+    @Test
+    void shouldPassFreeWindowToSearch() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemTextSearch.findAvailableToRent(anyString(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+
+        itemService.getAvailableToRentByText(user.getId(), "Лопата", start, end, false, EntityPagination.of(0, 10));
+
+        verify(mockItemTextSearch).findAvailableToRent(eq("Лопата"), eq(start), eq(end), any());
+    }
+
+    @Test
+    void shouldThrowWhenFreeWindowIsIncomplete() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> itemService.getAvailableToRentByText(user.getId(),
+                "Лопата", LocalDateTime.now(), null, false, EntityPagination.of(0, 10)));
+    }
+
     @Test
     void shouldThrowWhenUserNotFound() {
-        when(mockUserRepository.existsById(anyLong())).thenReturn(false);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(false);
 
         final EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -200,7 +377,7 @@ public class ItemServiceTest {
 
     @Test
     void shouldThrowWhenNotFoundItem() {
-        when(mockUserRepository.existsById(anyLong())).thenReturn(true);
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockItemRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         final EntityNotFoundException exception = assertThrows(
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.interval.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AvailabilityCalculatorTest {
+    private final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private final LocalDateTime to = from.plusDays(7);
+
+    @Test
+    void shouldMergeOverlappingAndTouchingBookings() {
+        List<BookingInterval> bookings = List.of(
+                new BookingInterval(1L, from.plusDays(3), from.plusDays(4)),
+                new BookingInterval(2L, from.plusDays(1), from.plusDays(2)),
+                new BookingInterval(3L, from.plusDays(2), from.plusDays(2).plusHours(5)),
+                new BookingInterval(4L, from.plusDays(3).plusHours(1), from.plusDays(3).plusHours(2)));
+
+        List<BusyInterval> busy = AvailabilityCalculator.merge(bookings, from, to);
+
+        Assertions.assertEquals(List.of(
+                new BusyInterval(from.plusDays(1), from.plusDays(2).plusHours(5)),
+                new BusyInterval(from.plusDays(3), from.plusDays(4))), busy);
+    }
+
+    @Test
+    void shouldClipBookingsToRequestedRange() {
+        List<BookingInterval> bookings = List.of(
+                new BookingInterval(1L, from.minusDays(2), from.plusHours(3)),
+                new BookingInterval(2L, to.minusHours(1), to.plusDays(5)));
+
+        List<BusyInterval> busy = AvailabilityCalculator.merge(bookings, from, to);
+
+        Assertions.assertEquals(List.of(
+                new BusyInterval(from, from.plusHours(3)),
+                new BusyInterval(to.minusHours(1), to)), busy);
+    }
+
+    @Test
+    void shouldMarkSlotsTouchedByBusyIntervals() {
+        List<BookingInterval> bookings = List.of(
+                new BookingInterval(1L, from.plusDays(1).plusHours(20), from.plusDays(2).plusHours(1)),
+                new BookingInterval(2L, from.plusDays(5), from.plusDays(6)));
+
+        ItemAvailability availability = AvailabilityCalculator.calculate(1L, from, to, AvailabilityGranularity.DAY,
+                bookings);
+
+        Assertions.assertEquals("0110010", availability.getSlots());
+        Assertions.assertEquals(2, availability.getBusy().size());
+    }
+
+    @Test
+    void shouldReturnFreeCalendarWithoutBookings() {
+        ItemAvailability availability = AvailabilityCalculator.calculate(1L, from, from.plusHours(5),
+                AvailabilityGranularity.HOUR, List.of());
+
+        Assertions.assertEquals("00000", availability.getSlots());
+        Assertions.assertTrue(availability.getBusy().isEmpty());
+    }
+}
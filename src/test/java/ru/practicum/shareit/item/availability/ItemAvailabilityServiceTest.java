@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.interval.BookingInterval;
+import ru.practicum.shareit.cache.CacheRegistry;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserExistenceCache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemAvailabilityServiceTest {
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @Mock
+    private UserExistenceCache mockUserExistenceCache;
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    private ItemAvailabilityCache availabilityCache;
+    private ItemAvailabilityService availabilityService;
+
+    private final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private final LocalDateTime to = from.plusDays(3);
+
+    @BeforeEach
+    void setUp() {
+        availabilityCache = new ItemAvailabilityCache(new CacheRegistry(), 100, Duration.ofMinutes(1));
+        availabilityService = new ItemAvailabilityServiceImpl(mockItemRepository, mockUserExistenceCache,
+                mockBookingRepository, availabilityCache);
+    }
+
+    @Test
+    void shouldComputeAvailabilityOnceUntilInvalidated() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemRepository.existsById(anyLong())).thenReturn(true);
+        when(mockBookingRepository.findApprovedIntervalsBetween(anyLong(), any(), any()))
+                .thenReturn(List.of(new BookingInterval(1L, from.plusHours(5), from.plusHours(30))));
+
+        ItemAvailability first = availabilityService.get(2L, 1L, from, to, AvailabilityGranularity.DAY);
+        ItemAvailability second = availabilityService.get(2L, 1L, from, to, AvailabilityGranularity.DAY);
+        availabilityCache.invalidate(1L);
+        availabilityService.get(2L, 1L, from, to, AvailabilityGranularity.DAY);
+
+        Assertions.assertEquals("110", first.getSlots());
+        Assertions.assertSame(first, second);
+        verify(mockBookingRepository, times(2)).findApprovedIntervalsBetween(1L, from, to);
+    }
+
+    @Test
+    void shouldThrowWhenRangeIsEmpty() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+
+        Assertions.assertThrows(BadRequestException.class,
+                () -> availabilityService.get(2L, 1L, to, from, AvailabilityGranularity.DAY));
+    }
+
+    @Test
+    void shouldThrowWhenRangeHasTooManySlots() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+
+        Assertions.assertThrows(BadRequestException.class,
+                () -> availabilityService.get(2L, 1L, from, from.plusYears(1), AvailabilityGranularity.HOUR));
+    }
+
+    @Test
+    void shouldAcceptRangeOfMaxSlots() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemRepository.existsById(anyLong())).thenReturn(true);
+        LocalDateTime end = from.plusHours(ItemAvailabilityServiceImpl.MAX_SLOTS);
+
+        ItemAvailability availability = availabilityService.get(2L, 1L, from, end, AvailabilityGranularity.HOUR);
+
+        Assertions.assertEquals(ItemAvailabilityServiceImpl.MAX_SLOTS, availability.getSlots().length());
+        Assertions.assertThrows(BadRequestException.class,
+                () -> availabilityService.get(2L, 1L, from, end.plusMinutes(30), AvailabilityGranularity.HOUR));
+    }
+
+    @Test
+    void shouldThrowWhenItemNotFound() {
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockItemRepository.existsById(anyLong())).thenReturn(false);
+
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> availabilityService.get(2L, 99L, from, to, AvailabilityGranularity.DAY));
+    }
+}
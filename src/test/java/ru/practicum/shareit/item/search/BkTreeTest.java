@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BkTreeTest {
+    private BkTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new BkTree();
+        for (String word : List.of("лопата", "лопатка", "лом", "грабли", "дрель", "тачка")) {
+            tree.add(word);
+        }
+    }
+
+    @Test
+    void shouldComputeLevenshteinDistance() {
+        assertEquals(0, BkTree.distance("лопата", "лопата"));
+        assertEquals(1, BkTree.distance("лапата", "лопата"));
+        assertEquals(1, BkTree.distance("лопта", "лопата"));
+        assertEquals(2, BkTree.distance("лапатка", "лопата"));
+        assertEquals(3, BkTree.distance("", "лом"));
+    }
+
+    @Test
+    void shouldFindWordsWithinDistance() {
+        assertEquals(Set.of("лопата"), words(tree.find("лапата", 1)));
+        assertEquals(Set.of("лопата", "лопатка"), words(tree.find("лапатка", 2)));
+        assertEquals(Set.of("дрель"), words(tree.find("дрел", 1)));
+        assertTrue(tree.find("пила", 1).isEmpty());
+    }
+
+    @Test
+    void shouldSkipRemovedWordsUntilAddedAgain() {
+        tree.add("лопата");
+        tree.remove("лопата");
+        assertEquals(Set.of("лопата"), words(tree.find("лопата", 0)));
+
+        tree.remove("лопата");
+        assertTrue(tree.find("лопата", 0).isEmpty());
+        assertEquals(5, tree.size());
+
+        tree.add("лопата");
+        assertEquals(Set.of("лопата"), words(tree.find("лопата", 0)));
+        assertEquals(6, tree.size());
+    }
+
+    private static Set<String> words(List<BkTree.Match> matches) {
+        return matches.stream().map(BkTree.Match::getWord).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.EntityPagination;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexedItemTextSearchTest {
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    private IndexedItemTextSearch itemTextSearch;
+
+    @BeforeEach
+    void setUp() {
+        itemTextSearch = new IndexedItemTextSearch(mockItemRepository, mockBookingRepository);
+        itemTextSearch.refresh(createItem(1L, "Лопата", true));
+        itemTextSearch.refresh(createItem(2L, "Лопата садовая", true));
+        itemTextSearch.refresh(createItem(3L, "Лопата штыковая", true));
+    }
+
+    @Test
+    void shouldLoadPageFromDatabaseInIndexOrder() {
+        when(mockItemRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(createItem(3L, "Лопата штыковая", true), createItem(1L, "Лопата", true)));
+
+        List<Item> items = itemTextSearch.findAvailableToRent("лопата", null, null, EntityPagination.of(0, 10))
+                .getContent();
+
+        assertEquals(List.of(1L, 3L), ids(items));
+    }
+
+    @Test
+    void shouldDropStaleEntriesFromIndex() {
+        when(mockItemRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(createItem(1L, "Большая лопата", true), createItem(3L, "Лопата штыковая", false)))
+                .thenReturn(List.of());
+
+        List<Item> items = itemTextSearch.findAvailableToRent("лопата", null, null, EntityPagination.of(0, 10))
+                .getContent();
+        assertEquals(List.of(1L), ids(items));
+        assertEquals("Большая лопата", items.get(0).getName());
+
+        assertTrue(itemTextSearch.findAvailableToRent("лопата", null, null, EntityPagination.of(0, 10))
+                .isEmpty());
+        verify(mockItemRepository).findAllById(List.of());
+    }
+
+    @Test
+    void shouldExcludeItemsRenamedAwayFromQuery() {
+        when(mockItemRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(createItem(1L, "Грабли", true), createItem(2L, "Лопата садовая", true),
+                        createItem(3L, "Лопата штыковая", true)))
+                .thenReturn(List.of(createItem(1L, "Грабли", true)));
+
+        List<Item> items = itemTextSearch.findAvailableToRent("лопата", null, null, EntityPagination.of(0, 10))
+                .getContent();
+        assertEquals(List.of(2L, 3L), ids(items));
+
+        items = itemTextSearch.findAvailableToRent("грабли", null, null, EntityPagination.of(0, 10)).getContent();
+        assertEquals(List.of(1L), ids(items));
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static Item createItem(Long id, String name, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription("Для огорода");
+        item.setAvailable(available);
+        item.setOwnerId(1L);
+        return item;
+    }
+}
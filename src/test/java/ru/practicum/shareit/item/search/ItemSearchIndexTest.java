@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(createItem(1L, "Лопата", "Для огорода"));
+        index.put(createItem(2L, "Набор для хозяйства", "Лопата, грабли, тачка и др."));
+        index.put(createItem(3L, "Дрель", "Аккумуляторная дрель"));
+    }
+
+    @Test
+    void shouldFindItemsBySubstringIgnoringCase() {
+        assertEquals(List.of(1L, 2L), search("лопат", 0, 10));
+        assertEquals(List.of(3L), search("ДРЕЛЬ", 0, 10));
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(search("д", 0, 10)));
+    }
+
+    @Test
+    void shouldNotMatchWhenGramsAreScattered() {
+        assertTrue(search("лопатка", 0, 10).isEmpty());
+        assertTrue(search("огородник", 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldPageRankedResults() {
+        assertEquals(List.of(1L), search("лопата", 0, 1));
+        assertEquals(List.of(2L), search("лопата", 1, 1));
+        assertTrue(search("лопата", 2, 1).isEmpty());
+        assertTrue(index.search("лопата", PageRequest.of(0, 1)).hasNext());
+        assertFalse(index.search("лопата", PageRequest.of(1, 1)).hasNext());
+    }
+
+    @Test
+    void shouldReindexUpdatedAndRemovedItems() {
+        index.put(createItem(1L, "Тачка", "Садовая"));
+        index.remove(2L);
+
+        assertTrue(search("лопата", 0, 10).isEmpty());
+        assertEquals(List.of(1L), search("тачка", 0, 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        index.put(createItem(0L, "Тачка", "Возит лопата и грабли"));
+
+        assertEquals(List.of(1L, 0L, 2L), search("лопата", 0, 10));
+    }
+
+    @Test
+    void shouldRankByTermFrequencyAndFieldLength() {
+        index.put(createItem(4L, "Шуруповерт", "Дрель дрель дрель"));
+        index.put(createItem(5L, "Перфоратор", "Мощная дрель"));
+        index.put(createItem(6L, "Ударная дрель", "Мощная"));
+
+        assertEquals(List.of(3L, 6L, 4L, 5L), search("дрель", 0, 10));
+    }
+
+    @Test
+    void shouldFindIdsInAscendingOrder() {
+        assertEquals(List.of(1L, 2L, 3L), index.findIds("д"));
+    }
+
+    @Test
+    void shouldTellWhetherItemIsIndexedAsIs() {
+        assertTrue(index.isCurrent(createItem(1L, "лопата", "для огорода")));
+        assertFalse(index.isCurrent(createItem(1L, "Лопата", "Для сада")));
+        assertFalse(index.isCurrent(createItem(7L, "Лопата", "Для огорода")));
+    }
+
+    @Test
+    void shouldSkipExcludedItemsBeforePaging() {
+        Slice<Long> page = index.search("лопата", Set.of(1L), PageRequest.of(0, 1));
+
+        assertEquals(List.of(2L), page.getContent());
+        assertFalse(page.hasNext());
+    }
+
+    private List<Long> search(String text, int page, int size) {
+        return index.search(text, PageRequest.of(page, size)).getContent();
+    }
+
+    private static Item createItem(Long id, String name, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setOwnerId(1L);
+        return item;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemVocabularyTest {
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    private ItemVocabulary vocabulary;
+
+    @BeforeEach
+    void setUp() {
+        vocabulary = new ItemVocabulary(mockItemRepository);
+        vocabulary.put(createItem(1L, "Лопата", "Для огорода"));
+        vocabulary.put(createItem(2L, "Набор для хозяйства", "Лопата, грабли, тачка и др."));
+        vocabulary.put(createItem(3L, "Дрель", "Аккумуляторная дрель"));
+    }
+
+    @Test
+    void shouldCorrectTyposWithinEditDistance() {
+        assertEquals("лопата", vocabulary.correct("Лапата"));
+        assertEquals("аккумуляторная дрель", vocabulary.correct("акумуляторня дрель"));
+        assertEquals("грабли, тачка", vocabulary.correct("грабле, тачко"));
+    }
+
+    @Test
+    void shouldKeepKnownShortAndUnmatchedWords() {
+        assertEquals("для огорода", vocabulary.correct("для огорода"));
+        assertEquals("др", vocabulary.correct("др"));
+        assertEquals("пила", vocabulary.correct("пила"));
+        assertEquals("лпт", vocabulary.correct("лпт"));
+    }
+
+    @Test
+    void shouldKeepWordsFoundInsideKnownWords() {
+        vocabulary.put(createItem(4L, "Черенок", "Чтобы копать лопатой"));
+
+        assertEquals("лопато", vocabulary.correct("лопато"));
+        assertEquals("лопат огород", vocabulary.correct("лопат огород"));
+        assertEquals("умулятор", vocabulary.correct("умулятор"));
+    }
+
+    @Test
+    void shouldForgetWordsOfRemovedItems() {
+        vocabulary.remove(3L);
+
+        assertEquals("дрел", vocabulary.correct("дрел"));
+        assertEquals("лопата", vocabulary.correct("лопта"));
+
+        vocabulary.remove(4L);
+        vocabulary.remove(1L);
+        vocabulary.remove(2L);
+        assertEquals("лопта", vocabulary.correct("лопта"));
+    }
+
+    @Test
+    void shouldLoadItemsOnFirstCorrection() {
+        when(mockItemRepository.findAllByAvailableTrue()).thenReturn(List.of(createItem(5L, "Пила", "Ножовка")));
+
+        assertEquals("ножовка", vocabulary.correct("ножовко"));
+        assertEquals("лопата", vocabulary.correct("лапата"));
+
+        verify(mockItemRepository, times(1)).findAllByAvailableTrue();
+    }
+
+    @Test
+    void shouldForgetWordsOfRemovedOwnerItems() {
+        vocabulary.removeAll(List.of(1L, 2L));
+
+        assertEquals("лапата", vocabulary.correct("лапата"));
+    }
+
+    private static Item createItem(Long id, String name, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setOwnerId(1L);
+        return item;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenTrieTest {
+    private TokenTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TokenTrie();
+        trie.add("лопата");
+        trie.add("лопата");
+        trie.add("лопатка");
+        trie.add("лом");
+        trie.add("грабли");
+    }
+
+    @Test
+    void shouldCompleteMostFrequentWordsFirst() {
+        assertEquals(List.of("лопата", "лом", "лопатка"), trie.complete("ло", 10));
+        assertEquals(List.of("лопата", "лопатка"), trie.complete("лопат", 10));
+        assertEquals(List.of("лопата"), trie.complete("ло", 1));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void shouldCompleteInsideCompressedEdge() {
+        assertEquals(List.of("грабли"), trie.complete("гра", 10));
+        assertEquals(List.of("грабли"), trie.complete("грабли", 10));
+        assertTrue(trie.complete("грабля", 10).isEmpty());
+        assertTrue(trie.complete("тачка", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRemoveWordsByCount() {
+        trie.remove("лопата");
+        assertEquals(List.of("лом", "лопата", "лопатка"), trie.complete("ло", 10));
+
+        trie.remove("лопата");
+        trie.remove("лом");
+        assertEquals(List.of("лопатка"), trie.complete("ло", 10));
+        assertEquals(2, trie.size());
+
+        trie.remove("лопатка");
+        assertTrue(trie.complete("ло", 10).isEmpty());
+        assertEquals(List.of("грабли"), trie.complete("г", 10));
+    }
+}
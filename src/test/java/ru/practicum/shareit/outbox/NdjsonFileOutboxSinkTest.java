@@ -0,0 +1,36 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class NdjsonFileOutboxSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldAppendOneLinePerEvent(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("events.ndjson");
+        NdjsonFileOutboxSink sink = new NdjsonFileOutboxSink(file, objectMapper);
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        sink.publish(List.of(new OutboxMessage(1L, "BOOKING", 10L, "BOOKING_CREATED", "{\"status\":\"WAITING\"}",
+                created)));
+        sink.publish(List.of(new OutboxMessage(2L, "BOOKING", 10L, "BOOKING_STATUS_CHANGED",
+                "{\"status\":\"APPROVED\"}", created)));
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        Assertions.assertEquals(1L, first.get("id").asLong());
+        Assertions.assertEquals("BOOKING_CREATED", first.get("eventType").asText());
+        Assertions.assertEquals("2030-01-01T12:00", first.get("created").asText());
+        Assertions.assertEquals("APPROVED", objectMapper.readTree(lines.get(1)).get("payload").get("status").asText());
+    }
+}
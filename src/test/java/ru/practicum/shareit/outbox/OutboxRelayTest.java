@@ -0,0 +1,107 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEvent;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(properties = {"db.test.name=outbox", "shareit.outbox.relay.enabled=false"},
+                webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class OutboxRelayTest {
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final OutboxRelay outboxRelay;
+    private final OutboxEventRepository outboxEventRepository;
+    private final RecordingListener listener;
+    private final ObjectMapper objectMapper;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relayPending();
+        listener.messages.clear();
+        ownerId = createUser();
+        bookerId = createUser();
+        itemId = itemService.create(ownerId, new ItemDto(null, "Лопата", "Для огорода", true)).getId();
+    }
+
+    @Test
+    void shouldRelayBookingEventsInOrder() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Long bookingId = bookingService.create(bookerId, new BookingDto(null, itemId, start, start.plusDays(1)))
+                .getId();
+        bookingService.changeStatus(ownerId, bookingId, true);
+
+        Assertions.assertEquals(2, outboxEventRepository.count());
+        Assertions.assertEquals(2, outboxRelay.relayPending());
+        Assertions.assertEquals(0, outboxEventRepository.count());
+
+        List<OutboxMessage> messages = listener.messages;
+        Assertions.assertEquals(2, messages.size());
+        Assertions.assertEquals(BookingEvent.CREATED, messages.get(0).getEventType());
+        Assertions.assertEquals(BookingEvent.STATUS_CHANGED, messages.get(1).getEventType());
+        Assertions.assertEquals(bookingId, messages.get(1).getAggregateId());
+        JsonNode payload = objectMapper.readTree(messages.get(1).getPayload());
+        Assertions.assertEquals("APPROVED", payload.get("status").asText());
+        Assertions.assertEquals(itemId, payload.get("itemId").asLong());
+    }
+
+    @Test
+    void shouldNotRecordEventsOfRolledBackChanges() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        BookingDto ownItemBooking = new BookingDto(null, itemId, start, start.plusDays(1));
+
+        Assertions.assertThrows(EntityNotFoundException.class, () -> bookingService.create(ownerId, ownItemBooking));
+        Assertions.assertEquals(0, outboxRelay.relayPending());
+        Assertions.assertTrue(listener.messages.isEmpty());
+    }
+
+    private Long createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userService.create(new UserDto(null, "User" + number, "outbox" + number + "@mail.com")).getId();
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+        private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onMessage(OutboxMessage message) {
+            messages.add(message);
+        }
+    }
+}
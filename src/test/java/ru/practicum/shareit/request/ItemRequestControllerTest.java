@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -114,7 +115,7 @@ public class ItemRequestControllerTest {
         requestWithItemsDto.setItems(List.of(itemOnRequest));
 
         when(requestService.getOfOtherUsers(anyLong(), any()))
-                .thenReturn(List.of(requestWithItemsDto));
+                .thenReturn(new SliceImpl<>(List.of(requestWithItemsDto)));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", requesterId)
@@ -5,14 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.pagination.EntityPagination;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -28,7 +28,7 @@ import static org.mockito.Mockito.when;
 public class ItemRequestServiceTest {
 
     @Mock
-    private UserRepository mockUserRepository;
+    private UserExistenceCache mockUserExistenceCache;
 
     @Mock
     private ItemRepository mockItemRepository;
@@ -45,7 +45,7 @@ public class ItemRequestServiceTest {
     @BeforeEach
     void setUp() {
         requestService = new ItemRequestServiceImpl(
-                mockUserRepository,
+                mockUserExistenceCache,
                 mockRequestRepository,
                 mockItemRepository
         );
@@ -64,7 +64,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void shouldCreateRequest() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockRequestRepository.save(any())).thenReturn(itemRequest);
 
         ItemRequestDto createdRequest = requestService.create(requester.getId(), requestDto);
@@ -73,7 +73,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void shouldFindRequest() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
         when(mockItemRepository.findAllByRequestId(anyLong())).thenReturn(new ArrayList<>());
 
@@ -83,7 +83,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void shouldThrowWhenNotFoundRequest() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         final EntityNotFoundException exception = assertThrows(
@@ -94,7 +94,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void shouldFindRequesterRequests() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockRequestRepository.findAllByRequesterId(anyLong(), any())).thenReturn(List.of(itemRequest));
         when(mockItemRepository.findAllByRequestIdIn(any())).thenReturn(new ArrayList<>());
 
@@ -104,7 +104,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void shouldReturnEmptyRequests() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockRequestRepository.findAllByRequesterId(anyLong(), any())).thenReturn(new ArrayList<>());
 
         List<ItemRequestDto> requestDtos = requestService.getByRequester(requester.getId());
@@ -113,7 +113,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void shouldThrowWhenRequesterNotFound() {
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(false);
 
         final EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -136,7 +136,7 @@ public class ItemRequestServiceTest {
         itemOnRequest.setAvailable(true);
         itemOnRequest.setRequestId(requestTool.getId());
 
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
         when(mockRequestRepository.findAllByRequesterId(anyLong(), any())).thenReturn(List.of(requestTool));
         when(mockItemRepository.findAllByRequestIdIn(any())).thenReturn(List.of(itemOnRequest));
 
@@ -155,12 +155,12 @@ public class ItemRequestServiceTest {
         userWithInterest.setName("Ivan First");
         userWithInterest.setEmail("ivan@mail.com");
 
-        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(userWithInterest));
-        when(mockRequestRepository.findByRequesterIdNot(anyLong(), any())).thenReturn(new PageImpl<>(List.of(itemRequest)));
+        when(mockUserExistenceCache.exists(anyLong())).thenReturn(true);
+        when(mockRequestRepository.findByRequesterIdNot(anyLong(), any())).thenReturn(new SliceImpl<>(List.of(itemRequest)));
         when(mockItemRepository.findAllByRequestIdIn(any())).thenReturn(new ArrayList<>());
 
         List<ItemRequestDto> requestDtos = requestService.getOfOtherUsers(userWithInterest.getId(),
-                EntityPagination.of(0, 10));
+                EntityPagination.of(0, 10)).getContent();
         assertEquals(List.of(requestDto), requestDtos);
     }
 }
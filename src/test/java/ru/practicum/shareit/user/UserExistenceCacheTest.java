@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.cache.CacheRegistry;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceCacheTest {
+
+    @Mock
+    private UserRepository mockUserRepository;
+
+    private UserExistenceCache userExistenceCache;
+
+    @BeforeEach
+    void setUp() {
+        userExistenceCache = new UserExistenceCache(mockUserRepository, new CacheRegistry(), 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldQueryExistingUserOnce() {
+        when(mockUserRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(userExistenceCache.exists(1L));
+        assertTrue(userExistenceCache.exists(1L));
+
+        verify(mockUserRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void shouldQueryMissingUserOnce() {
+        when(mockUserRepository.existsById(99L)).thenReturn(false);
+
+        assertFalse(userExistenceCache.exists(99L));
+        assertFalse(userExistenceCache.exists(99L));
+
+        verify(mockUserRepository, times(1)).existsById(99L);
+    }
+
+    @Test
+    void shouldForgetDeletedUser() {
+        when(mockUserRepository.existsById(1L)).thenReturn(true, false);
+
+        assertTrue(userExistenceCache.exists(1L));
+        userExistenceCache.deleted(1L);
+
+        assertFalse(userExistenceCache.exists(1L));
+    }
+
+    @Test
+    void shouldNotCacheUserDeletedDuringQuery() {
+        when(mockUserRepository.existsById(1L)).thenAnswer(invocation -> {
+            userExistenceCache.deleted(1L);
+            return true;
+        }).thenReturn(false);
+
+        assertTrue(userExistenceCache.exists(1L));
+        assertFalse(userExistenceCache.exists(1L));
+
+        verify(mockUserRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void shouldForgetMissingUserOnCreate() {
+        when(mockUserRepository.existsById(2L)).thenReturn(false, true);
+
+        assertFalse(userExistenceCache.exists(2L));
+        userExistenceCache.created(2L);
+
+        assertTrue(userExistenceCache.exists(2L));
+    }
+}
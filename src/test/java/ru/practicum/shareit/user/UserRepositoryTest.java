@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.model.User;
 
@@ -38,10 +39,10 @@ public class UserRepositoryTest {
         user2.setEmail("test_m@mail.com");
 
         final Exception ex = Assertions.assertThrows(
-                Exception.class,
+                DataIntegrityViolationException.class,
                 () -> {
-                    userRepository.save(user1);
-                    userRepository.save(user2);
+                    userRepository.saveAndFlush(user1);
+                    userRepository.saveAndFlush(user2);
                 }
         );
     }
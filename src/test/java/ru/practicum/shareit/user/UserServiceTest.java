@@ -7,6 +7,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -24,6 +26,15 @@ public class UserServiceTest {
     @Mock
     private UserRepository mockUserRepository;
 
+    @Mock
+    private UserExistenceCache mockUserExistenceCache;
+
+    @Mock
+    private ItemDetailsCache mockItemDetailsCache;
+
+    @Mock
+    private ItemService mockItemService;
+
     private UserService userService;
 
     private final UserDto userDto = new UserDto(1L, "Tester", "test@mail.com");
@@ -31,7 +42,8 @@ public class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(mockUserRepository);
+        userService = new UserServiceImpl(mockUserRepository, mockUserExistenceCache, mockItemDetailsCache,
+                mockItemService);
         user = new User();
         user.setId(1L);
         user.setName(userDto.getName());
@@ -40,7 +52,7 @@ public class UserServiceTest {
 
     @Test
     void shouldCreateUser() {
-        when(mockUserRepository.save(any()))
+        when(mockUserRepository.saveAndFlush(any()))
                 .thenReturn(user);
         UserDto createdUser = userService.create(userDto);
         assertEquals(userDto, createdUser);
@@ -81,7 +93,7 @@ public class UserServiceTest {
 
         when(mockUserRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(mockUserRepository.save(any()))
+        when(mockUserRepository.saveAndFlush(any()))
                 .thenReturn(savedUser);
         UserDto updatedUser = userService.update(requestUserDto);
         assertEquals(requestUserDto, updatedUser);
@@ -91,7 +103,7 @@ public class UserServiceTest {
     void shouldUpdateUserWithoutChanges() {
         when(mockUserRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(mockUserRepository.save(any()))
+        when(mockUserRepository.saveAndFlush(any()))
                 .thenReturn(user);
         UserDto updatedUser = userService.update(userDto);
         assertEquals(userDto, updatedUser);
@@ -102,6 +114,10 @@ public class UserServiceTest {
         Mockito.doNothing().when(mockUserRepository).deleteById(anyLong());
 
         userService.delete(2L);
+
+        Mockito.verify(mockUserExistenceCache).deleted(2L);
+        Mockito.verify(mockItemDetailsCache).invalidateAll();
+        Mockito.verify(mockItemService).evictOwnerItems(2L);
     }
 
 }